@@ -0,0 +1,38 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.util.InputGenerator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seeded inputs from {@link InputGenerator}, so every benchmark run measures exactly the same data.
+ */
+final class BenchmarkInputs {
+
+	private BenchmarkInputs() {
+	}
+
+	static List<String> lines(int day, int size) {
+		return InputGenerator.lines(day, size, InputGenerator.DEFAULT_SEED, InputGenerator.DEFAULT_WIDTH);
+	}
+
+	/**
+	 * Square grid for the grid based days.
+	 */
+	static List<String> grid(int day, int size) {
+		return InputGenerator.lines(day, size, InputGenerator.DEFAULT_SEED, size);
+	}
+
+	static List<String> machines(int count, int maxPresses) {
+		var data = new StringBuilder();
+		try {
+			InputGenerator.machines(count, maxPresses, InputGenerator.DEFAULT_SEED, data);
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to generate machines", e);
+		}
+		return Arrays.asList(data.toString().split("\n"));
+	}
+
+}
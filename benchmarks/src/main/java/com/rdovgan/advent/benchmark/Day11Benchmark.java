@@ -0,0 +1,49 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day11.Reactor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day11Benchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int size;
+
+	private List<String> graph;
+	private List<String> machines;
+
+	@Setup
+	public void setUp() {
+		graph = BenchmarkInputs.lines(11, size * 5);
+		machines = BenchmarkInputs.machines(size, 2);
+	}
+
+	@Benchmark
+	public long countPaths() {
+		return Reactor.countPaths(graph);
+	}
+
+	@Benchmark
+	public long totalMinButtonPresses() {
+		return Reactor.totalMinButtonPresses(machines);
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day12.TreeFarm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day12Benchmark {
+
+	@Param({ "10", "100" })
+	private int size;
+
+	private List<String> lines;
+	private int[] parsed;
+
+	@Setup
+	public void setUp() {
+		lines = BenchmarkInputs.lines(12, size);
+		parsed = TreeFarm.parseInput(lines);
+	}
+
+	@Benchmark
+	public int[] parseInput() {
+		return TreeFarm.parseInput(lines);
+	}
+
+	@Benchmark
+	public int countFittableRegions() {
+		return TreeFarm.countFittableRegions(parsed);
+	}
+
+}
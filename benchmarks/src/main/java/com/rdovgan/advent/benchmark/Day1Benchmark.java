@@ -0,0 +1,47 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day1.Password;
+import com.rdovgan.advent.day1.RotationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day1Benchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	private int size;
+
+	private List<String> rotations;
+
+	@Setup
+	public void setUp() {
+		rotations = BenchmarkInputs.lines(1, size);
+	}
+
+	@Benchmark
+	public int rotate() {
+		Password password = new Password();
+		for (String rotation : rotations) {
+			RotationUtil.rotate(password, rotation);
+		}
+		return password.getPassword();
+	}
+
+}
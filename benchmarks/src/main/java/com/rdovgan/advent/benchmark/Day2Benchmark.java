@@ -0,0 +1,47 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day2.IdRecognizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day2Benchmark {
+
+	@Param({ "10", "100" })
+	private int size;
+
+	private String ranges;
+
+	@Setup
+	public void setUp() {
+		ranges = BenchmarkInputs.lines(2, size).getFirst();
+	}
+
+	@Benchmark
+	public List<Long> fullDefineIncorrectIds() {
+		return IdRecognizer.fullDefineIncorrectIds(ranges);
+	}
+
+	@Benchmark
+	public IdRecognizer.IncorrectIdTotals countIncorrectIds() {
+		return IdRecognizer.countIncorrectIds(ranges);
+	}
+
+}
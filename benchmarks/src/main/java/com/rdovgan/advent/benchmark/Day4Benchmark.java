@@ -0,0 +1,52 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day4.EscalatorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day4Benchmark {
+
+	@Param({ "100", "500", "1000" })
+	private int size;
+
+	private List<String> grid;
+
+	@Setup
+	public void setUp() {
+		grid = BenchmarkInputs.grid(4, size);
+	}
+
+	@Benchmark
+	public int countAccessibleRolls() {
+		return EscalatorUtil.countAccessibleRolls(grid);
+	}
+
+	@Benchmark
+	public long countAccessibleRollsPacked() {
+		return EscalatorUtil.countAccessibleRollsPacked(grid);
+	}
+
+	@Benchmark
+	public int[] defineRemovalWaves() {
+		return EscalatorUtil.defineRemovalWaves(grid);
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day6.CephalopodsUtil;
+import com.rdovgan.advent.day6.MathUtil;
+import com.rdovgan.advent.day6.WorksheetEvaluator;
+import com.rdovgan.advent.day6.WorksheetTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day6Benchmark {
+
+	@Param({ "1000", "100000" })
+	private int size;
+
+	private List<String> worksheet;
+
+	@Setup
+	public void setUp() {
+		worksheet = BenchmarkInputs.lines(6, size);
+	}
+
+	@Benchmark
+	public long defineProblems() {
+		return MathUtil.defineProblems(worksheet);
+	}
+
+	@Benchmark
+	public Long calculate() {
+		return CephalopodsUtil.calculate(worksheet);
+	}
+
+	@Benchmark
+	public WorksheetTotals evaluate() {
+		return WorksheetEvaluator.evaluate(worksheet);
+	}
+
+}
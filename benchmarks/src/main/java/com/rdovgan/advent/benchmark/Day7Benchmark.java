@@ -0,0 +1,65 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day7.ManifoldStream;
+import com.rdovgan.advent.day7.QuantumManifold;
+import com.rdovgan.advent.day7.TeleporterLab;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day7Benchmark {
+
+	@Param({ "100", "1000" })
+	private int size;
+
+	private List<String> grid;
+
+	@Setup
+	public void setUp() {
+		grid = BenchmarkInputs.grid(7, size);
+	}
+
+	@Benchmark
+	public int countBeamSplits() {
+		return TeleporterLab.countBeamSplits(grid);
+	}
+
+	@Benchmark
+	public long countBeamSplitsPacked() {
+		return TeleporterLab.countBeamSplitsPacked(grid);
+	}
+
+	@Benchmark
+	public BigInteger countTimelines() {
+		return QuantumManifold.countTimelines(grid);
+	}
+
+	@Benchmark
+	public BigInteger countTimelinesPacked() {
+		return QuantumManifold.countTimelinesPacked(grid);
+	}
+
+	@Benchmark
+	public ManifoldStream.Counts countFused() {
+		return new ManifoldStream().rows(grid.stream()).counts();
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day8.Point;
+import com.rdovgan.advent.day8.SpaceUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day8Benchmark {
+
+	@Param({ "200", "1000", "2000" })
+	private int size;
+
+	private List<String> lines;
+	private List<Point> points;
+
+	@Setup
+	public void setUp() {
+		lines = BenchmarkInputs.lines(8, size);
+		points = SpaceUtil.definePoints(lines);
+	}
+
+	@Benchmark
+	public List<Point> definePoints() {
+		return SpaceUtil.definePoints(lines);
+	}
+
+	@Benchmark
+	public BigInteger multiplyTop3ByConnectingKPairs() {
+		return SpaceUtil.multiplyTop3ByConnectingKPairs(points, 1000);
+	}
+
+	@Benchmark
+	public BigInteger productOfXCoordinatesOfLastConnection() {
+		return SpaceUtil.productOfXCoordinatesOfLastConnection(points);
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.rdovgan.advent.benchmark;
+
+import com.rdovgan.advent.day9.MovieTheater;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day9Benchmark {
+
+	@Param({ "100", "300", "1000" })
+	private int size;
+
+	private List<String> polygon;
+
+	@Setup
+	public void setUp() {
+		polygon = BenchmarkInputs.lines(9, size);
+	}
+
+	@Benchmark
+	public long largestRectangleArea() {
+		return MovieTheater.largestRectangleArea(polygon);
+	}
+
+	@Benchmark
+	public long largestRectangleAreaPart2() {
+		return MovieTheater.largestRectangleAreaPart2(polygon);
+	}
+
+}
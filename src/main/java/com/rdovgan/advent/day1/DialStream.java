@@ -0,0 +1,136 @@
+package com.rdovgan.advent.day1;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.Consumer;
+
+/**
+ * Streaming counterpart of {@link RotationUtil#rotate(Password, CharSequence)} for feeds that never fit in memory. The
+ * bytes are parsed in place, one line per rotation. The dial itself is two primitives, and the only other state is the
+ * line in progress and the byte offset. A {@link Checkpoint} taken at any time can restart the evaluation from the last
+ * complete line, so a long feed can resume where it stopped.
+ */
+public final class DialStream {
+
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	private int position;
+	private long password;
+
+	// line in progress, direction is 0 until the first byte of the line
+	private int direction;
+	private long distance;
+	private boolean malformed;
+	private long offset;
+	private long lineStart;
+
+	public DialStream() {
+		this(new Checkpoint(0, new Password().getPosition(), 0));
+	}
+
+	public DialStream(Checkpoint checkpoint) {
+		position = checkpoint.position();
+		password = checkpoint.password();
+		offset = checkpoint.offset();
+		lineStart = offset;
+	}
+
+	/**
+	 * State after the last complete line. Resume by creating a new stream from it and feeding the input from
+	 * {@link Checkpoint#offset()}.
+	 */
+	public record Checkpoint(long offset, int position, long password) {
+	}
+
+	public long password() {
+		return password;
+	}
+
+	public int position() {
+		return position;
+	}
+
+	public Checkpoint checkpoint() {
+		return new Checkpoint(lineStart, position, password);
+	}
+
+	public DialStream feed(InputStream input) throws IOException {
+		return feed(Channels.newChannel(input));
+	}
+
+	public DialStream feed(ReadableByteChannel channel) throws IOException {
+		return feed(channel, Long.MAX_VALUE, _ -> {
+		});
+	}
+
+	/**
+	 * Reads the channel to its end and hands a checkpoint to {@code sink} about every {@code bytesPerCheckpoint} bytes.
+	 * A last line without a line break is kept pending, call {@link #finish()} when the feed is complete.
+	 */
+	public DialStream feed(ReadableByteChannel channel, long bytesPerCheckpoint, Consumer<Checkpoint> sink) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+		// compared as a distance, offset + bytesPerCheckpoint would overflow for Long.MAX_VALUE
+		long lastCheckpoint = offset;
+		while (channel.read(buffer) >= 0) {
+			feed(buffer.array(), 0, buffer.position());
+			buffer.clear();
+			if (offset - lastCheckpoint >= bytesPerCheckpoint) {
+				sink.accept(checkpoint());
+				lastCheckpoint = offset;
+			}
+		}
+		return this;
+	}
+
+	public DialStream feed(byte[] bytes, int from, int to) {
+		for (int i = from; i < to; i++) {
+			byte b = bytes[i];
+			if (b == '\n') {
+				endLine();
+				lineStart = offset + i - from + 1;
+			} else if (b > ' ') {
+				if (direction == 0) {
+					direction = b == 'L' ? -1 : 1;
+				} else if (b >= '0' && b <= '9' && !malformed) {
+					distance = distance * 10 + (b - '0');
+					malformed = distance > Integer.MAX_VALUE;
+				} else {
+					malformed = true;
+				}
+			}
+		}
+		offset += to - from;
+		return this;
+	}
+
+	/**
+	 * Applies a last line that has no line break.
+	 */
+	public DialStream finish() {
+		endLine();
+		lineStart = offset;
+		return this;
+	}
+
+	private void endLine() {
+		if (direction != 0 && !malformed) {
+			rotate(direction, distance);
+		}
+		direction = 0;
+		distance = 0;
+		malformed = false;
+	}
+
+	private void rotate(int direction, long distance) {
+		// distance from the dial position to the next 0 in the direction of the rotation
+		int toZero = direction > 0 || position == 0 ? DialSummary.POSITIONS - position : position;
+		if (distance >= toZero) {
+			password += 1 + (distance - toZero) / DialSummary.POSITIONS;
+		}
+		position = (int) Math.floorMod(position + direction * distance, (long) DialSummary.POSITIONS);
+	}
+
+}
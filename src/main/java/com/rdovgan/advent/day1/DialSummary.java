@@ -0,0 +1,122 @@
+package com.rdovgan.advent.day1;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Effect of a run of rotations for every start position of the dial: a run always moves the dial by the same
+ * {@code shift}, and lands on 0 a number of times that depends on where it started. Summaries of adjacent runs compose
+ * with {@link #then(DialSummary)}, which is associative, so a rotation list can be summarised in parallel chunks.
+ */
+public final class DialSummary {
+
+	static final int POSITIONS = 100;
+	private static final int LEAF_ROTATIONS = 1 << 14;
+
+	private final int shift;
+	private final long[] zeroHits;
+
+	private DialSummary(int shift, long[] zeroHits) {
+		this.shift = shift;
+		this.zeroHits = zeroHits;
+	}
+
+	/**
+	 * Summarises the rotations with fork/join; {@code zeroHits(50)} of the result is the password of the sequential
+	 * {@link RotationUtil#rotate(Password, CharSequence)} loop.
+	 */
+	public static DialSummary parallel(List<? extends CharSequence> rotations) {
+		return ForkJoinPool.commonPool().invoke(new SummaryTask(rotations, 0, rotations.size()));
+	}
+
+	/**
+	 * Summarises {@code rotations[from, to)} in O(n + 100). Every start position is shifted by the same amount before
+	 * each rotation, so the starts for which a rotation gains its extra crossing form one cyclic interval; those
+	 * intervals are collected in a difference array instead of simulating all 100 starts.
+	 */
+	public static DialSummary of(List<? extends CharSequence> rotations, int from, int to) {
+		long[] difference = new long[POSITIONS + 1];
+		long fullTurns = 0;
+		int shift = 0;
+		for (int i = from; i < to; i++) {
+			int rotation = RotationUtil.defineRotation(rotations.get(i));
+			int distance = Math.abs(rotation);
+			fullTurns += distance / POSITIONS;
+			int rest = distance % POSITIONS;
+			if (rest > 0) {
+				// dial positions that cross 0 during the remaining part of the rotation
+				int first = rotation > 0 ? POSITIONS - rest : 1;
+				int last = rotation > 0 ? POSITIONS - 1 : rest;
+				addCyclic(difference, Math.floorMod(first - shift, POSITIONS), last - first + 1);
+			}
+			shift = Math.floorMod(shift + rotation, POSITIONS);
+		}
+		long[] zeroHits = new long[POSITIONS];
+		long running = fullTurns;
+		for (int start = 0; start < POSITIONS; start++) {
+			running += difference[start];
+			zeroHits[start] = running;
+		}
+		return new DialSummary(shift, zeroHits);
+	}
+
+	private static void addCyclic(long[] difference, int from, int length) {
+		int to = from + length;
+		difference[from]++;
+		if (to <= POSITIONS) {
+			difference[to]--;
+		} else {
+			difference[POSITIONS]--;
+			difference[0]++;
+			difference[to - POSITIONS]--;
+		}
+	}
+
+	/**
+	 * Summary of this run followed by {@code next}.
+	 */
+	public DialSummary then(DialSummary next) {
+		long[] combined = new long[POSITIONS];
+		for (int start = 0; start < POSITIONS; start++) {
+			combined[start] = zeroHits[start] + next.zeroHits[(start + shift) % POSITIONS];
+		}
+		return new DialSummary((shift + next.shift) % POSITIONS, combined);
+	}
+
+	public int end(int start) {
+		return (start + shift) % POSITIONS;
+	}
+
+	public long zeroHits(int start) {
+		return zeroHits[start];
+	}
+
+	// fork/join tasks are never serialized
+	@SuppressWarnings("serial")
+	private static final class SummaryTask extends RecursiveTask<DialSummary> {
+
+		private final List<? extends CharSequence> rotations;
+		private final int from;
+		private final int to;
+
+		SummaryTask(List<? extends CharSequence> rotations, int from, int to) {
+			this.rotations = rotations;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected DialSummary compute() {
+			if (to - from <= LEAF_ROTATIONS) {
+				return of(rotations, from, to);
+			}
+			int middle = (from + to) >>> 1;
+			SummaryTask right = new SummaryTask(rotations, middle, to);
+			right.fork();
+			DialSummary left = new SummaryTask(rotations, from, middle).compute();
+			return left.then(right.join());
+		}
+	}
+
+}
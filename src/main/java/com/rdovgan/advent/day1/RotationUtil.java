@@ -1,23 +1,19 @@
 package com.rdovgan.advent.day1;
 
+import com.rdovgan.advent.util.ParseUtil;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.math.NumberUtils;
 
 public class RotationUtil {
 
-	public static int defineRotation(String rotation) {
+	public static int defineRotation(CharSequence rotation) {
 		if (StringUtils.isEmpty(rotation)) {
 			return 0;
 		}
-		try {
-			int rotationValue = NumberUtils.createInteger(rotation.substring(1));
-			return StringUtils.substring(rotation, 0, 1).equals("L") ? -rotationValue : rotationValue;
-		} catch (Exception _) {
-		}
-		return 0;
+		int rotationValue = ParseUtil.parseInt(rotation, 1, rotation.length(), 0);
+		return rotation.charAt(0) == 'L' ? -rotationValue : rotationValue;
 	}
 
-	public static void rotate(Password password, String rotation) {
+	public static void rotate(Password password, CharSequence rotation) {
 		int rotationValue = defineRotation(rotation);
 		if (rotationValue == 0) {
 			return;
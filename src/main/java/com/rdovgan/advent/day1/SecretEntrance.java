@@ -1,16 +1,40 @@
 package com.rdovgan.advent.day1;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.Solver;
 
+import java.io.IOException;
 import java.util.List;
 
-public class SecretEntrance {
+public class SecretEntrance implements Solver {
 
-	public static void main(String[] args) {
-		List<String> rotations = new ResourceData().loadFromResource("data1.csv");
-		Password password = new Password();
-		rotations.forEach(rotation -> RotationUtil.rotate(password, rotation));
-		System.out.println(password.getPassword());
+	/**
+	 * With {@code -} as the argument the rotations are streamed from standard input instead of being mapped.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length > 0 && args[0].equals("-")) {
+			System.out.println(new DialStream().feed(System.in).finish().password());
+			return;
+		}
+		Solver.run(new SecretEntrance(), args);
+	}
+
+	@Override
+	public int day() {
+		return 1;
+	}
+
+	@Override
+	public boolean cpuBound() {
+		// the rotations are already spread over the common pool
+		return false;
+	}
+
+	@Override
+	public List<String> solve(MappedData rotations) {
+		// same answer as applying RotationUtil.rotate line by line, but the chunks are summarised in parallel
+		int start = new Password().getPosition();
+		return List.of(String.valueOf(DialSummary.parallel(rotations.lines()).zeroHits(start)));
 	}
 
 }
@@ -1,24 +1,35 @@
 package com.rdovgan.advent.day10;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.Solver;
 
 import java.util.*;
+import java.util.stream.Stream;
 
-public final class FactoryMachines {
+public final class FactoryMachines implements Solver {
 
 	public static void main(String[] args) {
-		var lines = new ResourceData().loadFromResource("data10.csv");
-		System.out.println("Part1: " + solvePart1(lines));
+		Solver.run(new FactoryMachines(), args);
 	}
 
-	private static long solvePart1(List<String> lines) {
-		long totalPresses = 0;
-		for (var line : lines) {
-			if (line != null && !line.trim().isEmpty()) {
-				totalPresses += solveMachine(line.trim());
-			}
-		}
-		return totalPresses;
+	@Override
+	public int day() {
+		return 10;
+	}
+
+	@Override
+	public boolean cpuBound() {
+		// the machines are already spread over the common pool
+		return false;
+	}
+
+	@Override
+	public List<String> solve(MappedData data) {
+		return List.of("Part1: " + solvePart1(data.stream().parallel()));
+	}
+
+	public static long solvePart1(Stream<? extends CharSequence> lines) {
+		return lines.mapToLong(line -> solveMachine(line.toString())).sum();
 	}
 
 	private static int solveMachine(String line) {
@@ -1,14 +1,23 @@
 package com.rdovgan.advent.day11;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.Solver;
 
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public final class Reactor {
+public final class Reactor implements Solver {
 
-	private Reactor() {}
+	@Override
+	public int day() {
+		return 11;
+	}
+
+	@Override
+	public List<String> solve(MappedData data) {
+		return List.of(String.valueOf(countPaths(data.asStrings())));
+	}
 
 	public static long countPaths(List<String> lines) {
 		Map<String, List<String>> graph = new HashMap<>();
@@ -105,7 +114,6 @@ public final class Reactor {
 	}
 
 	public static void main(String[] args) {
-		List<String> sample1 = new ResourceData().loadFromResource("data11.csv");
-		System.out.println(countPaths(sample1));
+		Solver.run(new Reactor(), args);
 	}
 }
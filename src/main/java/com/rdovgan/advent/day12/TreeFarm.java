@@ -1,15 +1,16 @@
 package com.rdovgan.advent.day12;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.ParsedCache;
+import com.rdovgan.advent.util.Phase;
+import com.rdovgan.advent.util.Solver;
 
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public final class TreeFarm {
-
-	private TreeFarm() {}
+public final class TreeFarm implements Solver {
 
 	// максимальна кількість предметів для повного backtracking (точного)
 	private static final int EXACT_BACKTRACK_LIMIT = 12;
@@ -21,7 +22,19 @@ public final class TreeFarm {
 	 */
 	public static int countFittableRegions(List<String> inputLines) {
 		if (inputLines == null || inputLines.isEmpty()) return 0;
+		int[] packed;
+		try (var _ = Phase.begin("day12", "parse")) {
+			packed = parseInput(inputLines);
+		}
+		return countFittableRegions(packed);
+	}
 
+	/**
+	 * Розбирає вхід у плоский масив, який можна зберегти в кеші розібраних даних:
+	 * {@code [shapeCount, (variantCount, (length, x0, y0, x1, y1, ...)...)..., regionCount, (W, H, count0..countN)...]}.
+	 * Кількості предметів у регіоні вже підігнані під кількість форм.
+	 */
+	public static int[] parseInput(List<String> inputLines) {
 		// Парсимо форму та регіони
 		LinkedHashMap<Integer, List<String>> shapesRaw = new LinkedHashMap<>();
 		List<String> regionLines = new ArrayList<>();
@@ -77,58 +90,89 @@ public final class TreeFarm {
 		}
 
 		// Якщо немає форм — нічого робити
-		if (shapesRaw.isEmpty()) return 0;
+		if (shapesRaw.isEmpty()) return new int[] { 0, 0 };
 
 		// Normalize shape indices order
 		List<Integer> indices = new ArrayList<>(shapesRaw.keySet());
 		Collections.sort(indices);
 
+		IntList packed = new IntList();
+		packed.add(indices.size());
 		// Сформувати для кожної форми список унікальних варіантів (flattened coords)
-		List<List<int[]>> shapeVariants = new ArrayList<>();
 		for (int idx : indices) {
 			List<String> rows = shapesRaw.get(idx);
 			int[][] coords = parseShape(rows);
 			List<int[][]> transforms = generateTransforms(coords);
 			LinkedHashMap<String, int[][]> uniq = new LinkedHashMap<>();
 			for (int[][] t : transforms) uniq.put(normalizeKey(t), t);
-			List<int[]> variants = new ArrayList<>();
+			packed.add(uniq.size());
 			for (int[][] t : uniq.values()) {
-				int[] flat = new int[t.length * 2];
-				for (int i = 0; i < t.length; i++) { flat[2*i] = t[i][0]; flat[2*i+1] = t[i][1]; }
-				variants.add(flat);
+				packed.add(t.length * 2);
+				for (int[] point : t) { packed.add(point[0]); packed.add(point[1]); }
+			}
+		}
+
+		int regionCountIndex = packed.size();
+		packed.add(0);
+		for (String rline : regionLines) {
+			final Matcher mr = regionHeader.matcher(rline);
+			if (!mr.matches()) continue;
+			packed.add(Integer.parseInt(mr.group(1)));
+			packed.add(Integer.parseInt(mr.group(2)));
+			final String rest = mr.group(3).trim();
+
+			// якщо немає предметів — усі кількості нульові, регіон вміщається
+			List<Integer> counts = new ArrayList<>();
+			for (String p : rest.isEmpty() ? new String[0] : rest.split("\\s+")) {
+				if (p.trim().isEmpty()) continue;
+				try { counts.add(Integer.parseInt(p.trim())); } catch (NumberFormatException ex) { counts.add(0); }
+			}
+			// підгоняємо під кількість форм
+			for (int s = 0; s < indices.size(); s++) packed.add(s < counts.size() ? counts.get(s) : 0);
+			packed.set(regionCountIndex, packed.get(regionCountIndex) + 1);
+		}
+		return packed.toArray();
+	}
+
+	/**
+	 * Те саме, що {@link #countFittableRegions(List)}, але для входу, вже розібраного {@link #parseInput(List)}.
+	 */
+	public static int countFittableRegions(int[] packed) {
+		int pos = 0;
+		int shapeCount = packed[pos++];
+		if (shapeCount == 0) return 0;
+
+		List<List<int[]>> shapeVariants = new ArrayList<>(shapeCount);
+		for (int s = 0; s < shapeCount; s++) {
+			int variantCount = packed[pos++];
+			List<int[]> variants = new ArrayList<>(variantCount);
+			for (int v = 0; v < variantCount; v++) {
+				int length = packed[pos++];
+				variants.add(Arrays.copyOfRange(packed, pos, pos + length));
+				pos += length;
 			}
 			shapeVariants.add(variants);
 		}
 
+		int regionCount = packed[pos++];
 		int successCount = 0;
 		ExecutorService executor = Executors.newSingleThreadExecutor();
 		try {
-			for (String rline : regionLines) {
-				final Matcher mr = regionHeader.matcher(rline);
-				if (!mr.matches()) continue;
-				final int W = Integer.parseInt(mr.group(1));
-				final int H = Integer.parseInt(mr.group(2));
-				final String rest = mr.group(3).trim();
-
-				// якщо немає предметів — вміщається
-				if (rest.isEmpty()) { successCount++; continue; }
-
-				String[] parts = rest.split("\\s+");
-				List<Integer> counts = new ArrayList<>();
-				for (String p : parts) {
-					if (p.trim().isEmpty()) continue;
-					try { counts.add(Integer.parseInt(p.trim())); } catch (NumberFormatException ex) { counts.add(0); }
-				}
-				// підгоняємо під кількість форм
-				while (counts.size() < shapeVariants.size()) counts.add(0);
-				if (counts.size() > shapeVariants.size()) counts = counts.subList(0, shapeVariants.size());
+			for (int region = 0; region < regionCount; region++) {
+				final int W = packed[pos++];
+				final int H = packed[pos++];
+				int countsFrom = pos;
+				pos += shapeCount;
 
 				// побудувати список предметів
 				List<Integer> pieces = new ArrayList<>();
-				for (int s = 0; s < counts.size(); s++) {
-					for (int k = 0; k < counts.get(s); k++) pieces.add(s);
+				for (int s = 0; s < shapeCount; s++) {
+					for (int k = 0; k < packed[countsFrom + s]; k++) pieces.add(s);
 				}
 
+				// якщо немає предметів — вміщається
+				if (pieces.isEmpty()) { successCount++; continue; }
+
 				// швидка перевірка площ
 				long totalCells = 0;
 				boolean invalidShape = false;
@@ -154,7 +198,12 @@ public final class TreeFarm {
 				boolean fit = false;
 				if (pieceList.size() <= EXACT_BACKTRACK_LIMIT) {
 					final boolean[][] grid = new boolean[H][W];
-					Callable<Boolean> task = () -> packPieces(grid, W, H, pieceList, 0);
+					Callable<Boolean> task = () -> {
+						// фаза відкривається в потоці виконавця, щоб алокації рахувалися для нього
+						try (var _ = Phase.begin("day12", "packPieces")) {
+							return packPieces(grid, W, H, pieceList, 0);
+						}
+					};
 					Future<Boolean> future = executor.submit(task);
 					try {
 						fit = future.get(REGION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
@@ -168,7 +217,9 @@ public final class TreeFarm {
 				} else {
 					// Для великих випадків — спробуємо швидкий greedy; якщо вдасться — приймаємо як fit.
 					boolean[][] grid = new boolean[H][W];
-					fit = greedyPlace(grid, W, H, pieceList);
+					try (var _ = Phase.begin("day12", "greedyPlace")) {
+						fit = greedyPlace(grid, W, H, pieceList);
+					}
 				}
 
 				if (fit) successCount++;
@@ -342,6 +393,24 @@ public final class TreeFarm {
 		return sb.toString();
 	}
 
+	private static final class IntList {
+		private int[] values = new int[64];
+		private int size;
+
+		void add(int value) {
+			if (size == values.length) values = Arrays.copyOf(values, size * 2);
+			values[size++] = value;
+		}
+
+		int get(int index) { return values[index]; }
+
+		void set(int index, int value) { values[index] = value; }
+
+		int size() { return size; }
+
+		int[] toArray() { return Arrays.copyOf(values, size); }
+	}
+
 	private static final class Piece {
 		final int shapeIndex;
 		final int area;
@@ -351,7 +420,21 @@ public final class TreeFarm {
 
 	/* ---------- main for quick run ---------- */
 	public static void main(String[] args) {
-		List<String> lines = new ResourceData().loadFromResource("data12.csv");
-		System.out.println(countFittableRegions(lines));
+		Solver.run(new TreeFarm(), args);
+	}
+
+	@Override
+	public int day() {
+		return 12;
+	}
+
+	@Override
+	public List<String> solve(MappedData data) {
+		int[] packed;
+		// при влучанні в кеш фаза охоплює лише читання кешу
+		try (var _ = Phase.begin("day12", "parse")) {
+			packed = ParsedCache.ints("day12-input", data, input -> parseInput(input.asStrings()));
+		}
+		return List.of(String.valueOf(countFittableRegions(packed)));
 	}
 }
@@ -1,15 +1,26 @@
 package com.rdovgan.advent.day2;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.ByteLine;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.Solver;
 
 import java.util.List;
 
-public class GiftShop {
+public class GiftShop implements Solver {
 
 	public static void main(String[] args) {
-		List<String> dataList = new ResourceData().loadFromResource("data2.csv");
-		List<Long> incorrectIds = IdRecognizer.fullDefineIncorrectIds(dataList.stream().findFirst().orElse(null));
-		System.out.println(incorrectIds.stream().mapToLong(Long::longValue).sum());
+		Solver.run(new GiftShop(), args);
+	}
+
+	@Override
+	public int day() {
+		return 2;
+	}
+
+	@Override
+	public List<String> solve(MappedData data) {
+		String ranges = data.stream().findFirst().map(ByteLine::toString).orElse("");
+		return List.of(IdRecognizer.countIncorrectIds(ranges).sum().toString());
 	}
 
 }
@@ -1,14 +1,19 @@
 package com.rdovgan.advent.day2;
 
+import com.rdovgan.advent.util.ParseUtil;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.LongStream;
 
 public class IdRecognizer {
 
+	private static final long[] POWERS_OF_TEN = LongStream.iterate(1, power -> power * 10).limit(19).toArray();
+
 	public static List<Long> fullDefineIncorrectIds(String data) {
 		List<String> ranges = defineRanges(data);
 		return ranges.stream().flatMap(range -> defineIncorrectIdsFromRange(range).stream()).toList();
@@ -32,9 +37,134 @@ public class IdRecognizer {
 		if (firstId == null || lastId == null || firstId > lastId) {
 			return List.of();
 		}
-		var result = LongStream.rangeClosed(firstId, lastId).boxed().filter(IdRecognizer::isIncorrectId).toList();
-		System.out.println(result);
-		return result;
+		LongStream.Builder result = LongStream.builder();
+		long first = Math.max(firstId, 10);
+		for (int length = digits(first); length <= digits(lastId); length++) {
+			for (int patternLength = 1; patternLength < length; patternLength++) {
+				if (length % patternLength == 0) {
+					addRepeatedPatterns(first, lastId, patternLength, repunit(length, patternLength), result);
+				}
+			}
+		}
+		// a pattern of length p also repeats with length 2p, 3p, ... so the same id can come from several divisors
+		return result.build().sorted().distinct().boxed().toList();
+	}
+
+	public record IncorrectIdTotals(long count, BigInteger sum) {
+
+		public static final IncorrectIdTotals ZERO = new IncorrectIdTotals(0, BigInteger.ZERO);
+
+		public IncorrectIdTotals plus(IncorrectIdTotals other) {
+			return new IncorrectIdTotals(count + other.count, sum.add(other.sum));
+		}
+
+		public IncorrectIdTotals minus(IncorrectIdTotals other) {
+			return new IncorrectIdTotals(count - other.count, sum.subtract(other.sum));
+		}
+	}
+
+	private record Range(long firstId, long lastId) {
+	}
+
+	/**
+	 * Count and sum of the invalid ids of all comma separated ranges in {@code data}, the ranges are evaluated in
+	 * parallel. Like {@link #fullDefineIncorrectIds(String)}, an id covered by several ranges is counted once per range.
+	 */
+	public static IncorrectIdTotals countIncorrectIds(String data) {
+		return parseRanges(data).parallelStream()
+				.map(range -> countIncorrectIds(range.firstId(), range.lastId()))
+				.reduce(IncorrectIdTotals.ZERO, IncorrectIdTotals::plus);
+	}
+
+	/**
+	 * Count and sum of the invalid ids in {@code [firstId, lastId]} without listing them. The ids repeating a pattern
+	 * of length p form an arithmetic series {@code pattern * multiplier}; an id whose smallest period is d appears in
+	 * the series of every multiple of d, so only the ids with exact period p are kept for p by subtracting the exact
+	 * counts of its divisors.
+	 */
+	public static IncorrectIdTotals countIncorrectIds(long firstId, long lastId) {
+		IncorrectIdTotals total = IncorrectIdTotals.ZERO;
+		long first = Math.max(firstId, 10);
+		if (first > lastId) {
+			return total;
+		}
+		for (int length = digits(first); length <= digits(lastId); length++) {
+			IncorrectIdTotals[] exactPeriod = new IncorrectIdTotals[length];
+			for (int patternLength = 1; patternLength < length; patternLength++) {
+				if (length % patternLength != 0) {
+					continue;
+				}
+				IncorrectIdTotals exact = repeatedPatterns(first, lastId, patternLength, repunit(length, patternLength));
+				for (int divisor = 1; divisor < patternLength; divisor++) {
+					if (patternLength % divisor == 0) {
+						exact = exact.minus(exactPeriod[divisor]);
+					}
+				}
+				exactPeriod[patternLength] = exact;
+				total = total.plus(exact);
+			}
+		}
+		return total;
+	}
+
+	private static IncorrectIdTotals repeatedPatterns(long firstId, long lastId, int patternLength, long multiplier) {
+		long lowest = Math.max(POWERS_OF_TEN[patternLength - 1], Math.ceilDiv(firstId, multiplier));
+		long highest = Math.min(POWERS_OF_TEN[patternLength] - 1, lastId / multiplier);
+		if (lowest > highest) {
+			return IncorrectIdTotals.ZERO;
+		}
+		long count = highest - lowest + 1;
+		// multiplier * (lowest + ... + highest)
+		BigInteger patternSum = BigInteger.valueOf(lowest).add(BigInteger.valueOf(highest))
+				.multiply(BigInteger.valueOf(count)).shiftRight(1);
+		return new IncorrectIdTotals(count, patternSum.multiply(BigInteger.valueOf(multiplier)));
+	}
+
+	private static List<Range> parseRanges(String data) {
+		List<Range> ranges = new ArrayList<>();
+		long[] bounds = new long[2];
+		for (int from = 0; from <= data.length(); ) {
+			int to = ParseUtil.indexOf(data, ',', from);
+			if (to < 0) {
+				to = data.length();
+			}
+			if (ParseUtil.parseLongs(data.subSequence(from, to), '-', bounds) == 2 && bounds[0] <= bounds[1]) {
+				ranges.add(new Range(bounds[0], bounds[1]));
+			}
+			from = to + 1;
+		}
+		return ranges;
+	}
+
+	/**
+	 * Every id made of a {@code patternLength} digit pattern is {@code pattern * multiplier}, so the ids in range follow
+	 * from the range of patterns; the bounds come from division, which also keeps the products from overflowing.
+	 */
+	private static void addRepeatedPatterns(long firstId, long lastId, int patternLength, long multiplier, LongStream.Builder result) {
+		long lowest = Math.max(POWERS_OF_TEN[patternLength - 1], Math.ceilDiv(firstId, multiplier));
+		long highest = Math.min(POWERS_OF_TEN[patternLength] - 1, lastId / multiplier);
+		for (long pattern = lowest; pattern <= highest; pattern++) {
+			result.add(pattern * multiplier);
+		}
+	}
+
+	/**
+	 * Multiplier that repeats a {@code patternLength} digit pattern up to {@code length} digits, 1001001 for (9, 3).
+	 */
+	static long repunit(int length, int patternLength) {
+		long multiplier = 0;
+		for (int shift = 0; shift < length; shift += patternLength) {
+			multiplier += POWERS_OF_TEN[shift];
+		}
+		return multiplier;
+	}
+
+	static int digits(long id) {
+		int digits = 1;
+		while (digits < POWERS_OF_TEN.length && id >= POWERS_OF_TEN[digits]) {
+			digits++;
+		}
+		return digits;
 	}
 
 	public static boolean isIncorrectId(long id) {
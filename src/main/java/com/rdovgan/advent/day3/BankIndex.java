@@ -0,0 +1,100 @@
+package com.rdovgan.advent.day3;
+
+import java.math.BigInteger;
+
+/**
+ * Index of one bank for answering the best joltage for many digit counts. A bank only holds the digits 0-9, so the
+ * range maximum query "leftmost largest digit in [start, end]" is answered by trying each digit from 9 down against a
+ * table of its next occurrence: 10 lookups per output digit, O(k) per query, and 10 ints per bank digit instead of
+ * the n log n of a sparse table.
+ */
+public final class BankIndex {
+
+	private static final int DIGITS = 10;
+
+	private final int length;
+	// next[digit * (length + 1) + i] is the first position >= i holding digit, or length when there is none
+	private final int[] next;
+
+	public BankIndex(CharSequence bank) {
+		length = bank.length();
+		next = new int[DIGITS * (length + 1)];
+		for (int digit = 0; digit < DIGITS; digit++) {
+			next[digit * (length + 1) + length] = length;
+		}
+		for (int i = length - 1; i >= 0; i--) {
+			for (int digit = 0; digit < DIGITS; digit++) {
+				next[digit * (length + 1) + i] = next[digit * (length + 1) + i + 1];
+			}
+			int digit = bank.charAt(i) - '0';
+			if (digit < 0 || digit >= DIGITS) {
+				throw new IllegalArgumentException("Bank holds a non-digit at " + i + ": " + bank);
+			}
+			next[digit * (length + 1) + i] = i;
+		}
+	}
+
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Same answer as {@link BatteryUtil#maxJoltage(CharSequence, int)}.
+	 */
+	public long maxJoltage(int digits) {
+		if (digits < 1 || digits > BatteryUtil.MAX_LONG_DIGITS) {
+			throw new IllegalArgumentException("Digit count must be between 1 and " + BatteryUtil.MAX_LONG_DIGITS + ": " + digits);
+		}
+		long value = 0;
+		for (int digit : selectDigits(digits)) {
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	/**
+	 * Best joltage for any digit count, including the ones that do not fit in a long.
+	 */
+	public BigInteger maxJoltageExact(int digits) {
+		if (digits < 1) {
+			throw new IllegalArgumentException("Digit count must be positive: " + digits);
+		}
+		int[] selected = selectDigits(digits);
+		var value = new StringBuilder(selected.length);
+		for (int digit : selected) {
+			value.append((char) ('0' + digit));
+		}
+		return selected.length == 0 ? BigInteger.ZERO : new BigInteger(value.toString());
+	}
+
+	/**
+	 * Answers for several digit counts, in the order of {@code digits}.
+	 */
+	public long[] maxJoltages(int... digits) {
+		long[] answers = new long[digits.length];
+		for (int i = 0; i < digits.length; i++) {
+			answers[i] = maxJoltage(digits[i]);
+		}
+		return answers;
+	}
+
+	private int[] selectDigits(int digits) {
+		int take = Math.min(digits, length);
+		int[] selected = new int[take];
+		int start = 0;
+		for (int position = 0; position < take; position++) {
+			// the last position this digit can come from, leaving enough digits for the rest
+			int end = length - (take - position);
+			for (int digit = DIGITS - 1; digit >= 0; digit--) {
+				int found = next[digit * (length + 1) + start];
+				if (found <= end) {
+					selected[position] = digit;
+					start = found + 1;
+					break;
+				}
+			}
+		}
+		return selected;
+	}
+
+}
@@ -1,34 +1,113 @@
 package com.rdovgan.advent.day3;
 
+import com.rdovgan.advent.util.ByteLine;
+import com.rdovgan.advent.util.MappedData;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class BatteryUtil {
 
-	public static Long defineMaxJoltage(String battery) {
+	public static final int JOLTAGE_DIGITS = 12;
+	// the largest digit count whose value always fits in a long
+	public static final int MAX_LONG_DIGITS = 18;
+
+	public static Long defineMaxJoltage(CharSequence battery) {
 		if (battery == null || battery.isEmpty()) {
 			return null;
 		}
-		var result = new StringBuilder();
-		int start = 0, take = Math.min(12, battery.length());
+		return maxJoltage(battery, JOLTAGE_DIGITS);
+	}
 
-		for (int i = 0; i < take; i++) {
-			int end = battery.length() - (take - i - 1);
-			int maxIdx = start;
+	/**
+	 * Largest number made of {@code digits} digits of the bank kept in order (all of them for a shorter bank), in one
+	 * pass: a monotonic stack drops a smaller digit for a larger one as long as enough digits are left to fill it up.
+	 * The stack is the value itself, push is {@code value * 10 + digit} and pop is {@code value / 10}.
+	 */
+	public static long maxJoltage(CharSequence bank, int digits) {
+		checkDigits(digits);
+		int length = bank.length();
+		int take = Math.min(digits, length);
+		long value = 0;
+		int size = 0;
+		for (int i = 0; i < length; i++) {
+			int digit = bank.charAt(i) - '0';
+			while (size > 0 && value % 10 < digit && size + length - i > take) {
+				value /= 10;
+				size--;
+			}
+			if (size < take) {
+				value = value * 10 + digit;
+				size++;
+			}
+		}
+		return value;
+	}
 
-			for (int j = start + 1; j < end; j++) {
-				if (battery.charAt(j) > battery.charAt(maxIdx)) {
-					maxIdx = j;
-				}
+	/**
+	 * Same as {@link #maxJoltage(CharSequence, int)} for a bank of {@code length} ASCII digits in mapped memory.
+	 */
+	public static long maxJoltage(MemorySegment bytes, long offset, int length, int digits) {
+		checkDigits(digits);
+		int take = Math.min(digits, length);
+		long value = 0;
+		int size = 0;
+		for (int i = 0; i < length; i++) {
+			int digit = bytes.get(ValueLayout.JAVA_BYTE, offset + i) - '0';
+			while (size > 0 && value % 10 < digit && size + length - i > take) {
+				value /= 10;
+				size--;
+			}
+			if (size < take) {
+				value = value * 10 + digit;
+				size++;
 			}
-			result.append(battery.charAt(maxIdx));
-			start = maxIdx + 1;
 		}
+		return value;
+	}
 
-		return Long.parseLong(result.toString());
+	public static long maxJoltage(ByteLine bank, int digits) {
+		return maxJoltage(bank.segment(), bank.offset(), bank.length(), digits);
+	}
+
+	private static void checkDigits(int digits) {
+		if (digits < 1 || digits > MAX_LONG_DIGITS) {
+			throw new IllegalArgumentException("Digit count must be between 1 and " + MAX_LONG_DIGITS + ": " + digits);
+		}
 	}
 
 	public static Long defineSumOfAllJoltages(List<String> batteryData) {
-		return batteryData.stream().mapToLong(BatteryUtil::defineMaxJoltage).sum();
+		return defineSumOfAllJoltages(batteryData.stream());
+	}
+
+	public static Long defineSumOfAllJoltages(Stream<? extends CharSequence> batteryData) {
+		return batteryData.mapToLong(BatteryUtil::defineMaxJoltage).sum();
+	}
+
+	/**
+	 * Batch variant for a mapped file: the lines are split into byte chunks on line boundaries and the chunks are
+	 * processed in parallel, each bank is read straight from the mapping.
+	 */
+	public static long defineSumOfAllJoltages(MappedData batteryData, int digits) {
+		return batteryData.stream().parallel().mapToLong(bank -> maxJoltage(bank, digits)).sum();
+	}
+
+	/**
+	 * Sums for several digit counts at once, every bank is indexed once and queried for each count.
+	 *
+	 * @return the sum of all banks for each entry of {@code digits}, in the same order
+	 */
+	public static long[] defineSumsOfAllJoltages(Stream<? extends CharSequence> batteryData, int... digits) {
+		return batteryData.map(bank -> new BankIndex(bank).maxJoltages(digits))
+				.reduce(new long[digits.length], (sums, answers) -> {
+					long[] total = new long[digits.length];
+					for (int i = 0; i < total.length; i++) {
+						total[i] = Math.addExact(sums[i], answers[i]);
+					}
+					return total;
+				});
 	}
 
 }
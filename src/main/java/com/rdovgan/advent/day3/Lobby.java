@@ -1,14 +1,30 @@
 package com.rdovgan.advent.day3;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.Solver;
 
 import java.util.List;
 
-public class Lobby {
+public class Lobby implements Solver {
 
 	public static void main(String[] args) {
-		List<String> data = new ResourceData().loadFromResource("data3.csv");
-		System.out.println(BatteryUtil.defineSumOfAllJoltages(data));
+		Solver.run(new Lobby(), args);
+	}
+
+	@Override
+	public int day() {
+		return 3;
+	}
+
+	@Override
+	public boolean cpuBound() {
+		// the banks are already spread over the common pool
+		return false;
+	}
+
+	@Override
+	public List<String> solve(MappedData data) {
+		return List.of(String.valueOf(BatteryUtil.defineSumOfAllJoltages(data, BatteryUtil.JOLTAGE_DIGITS)));
 	}
 
 }
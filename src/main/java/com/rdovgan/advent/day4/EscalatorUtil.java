@@ -1,11 +1,113 @@
 package com.rdovgan.advent.day4;
 
+import com.rdovgan.advent.util.MappedData;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class EscalatorUtil {
+
+	/**
+	 * Same result as {@link #countAccessibleRolls(List)} on a {@link RollBitboard}.
+	 */
+	public static long countAccessibleRollsPacked(List<? extends CharSequence> data) {
+		if (CollectionUtils.isEmpty(data)) {
+			return 0;
+		}
+		return RollBitboard.of(data).removeAllAccessible();
+	}
+
+	/**
+	 * Tiled variant of {@link #countAccessibleRollsPacked(List)} for very large grids, see
+	 * {@link RollBitboard#removeAllAccessibleParallel()}. The grid is packed from the mapping band by band, but the
+	 * packed board is kept whole, so the heap still grows by one bit per cell (see {@link RollBitboard#load(MappedData)}).
+	 */
+	public static long countAccessibleRollsTiled(MappedData data) {
+		return RollBitboard.load(data).removeAllAccessibleParallel();
+	}
+
+	private static final byte REMOVED = -1;
+
+	/**
+	 * Same removals as {@link #countAccessibleRolls(List)} as a k-core peel: every roll's neighbour count is computed
+	 * once, and after that only the neighbours of removed rolls are updated. A roll joins the next wave when its count
+	 * drops from 4 to 3, so each wave holds exactly the rolls one simultaneous round removes, and the total work is
+	 * linear in the grid size.
+	 *
+	 * @return number of rolls removed in each round, the total is their sum
+	 */
+	public static int[] defineRemovalWaves(List<? extends CharSequence> data) {
+		if (CollectionUtils.isEmpty(data)) {
+			return new int[0];
+		}
+		int rows = data.size();
+		int width = 0;
+		for (CharSequence row : data) {
+			width = Math.max(width, row == null ? 0 : row.length());
+		}
+		// neighbour count of every roll, REMOVED for cells without a roll
+		byte[] degree = new byte[Math.multiplyExact(rows, width)];
+		Arrays.fill(degree, REMOVED);
+		for (int r = 0; r < rows; r++) {
+			CharSequence row = data.get(r);
+			for (int c = 0; row != null && c < row.length(); c++) {
+				if (row.charAt(c) == RollBitboard.ROLL) {
+					degree[r * width + c] = 0;
+				}
+			}
+		}
+		int[] wave = new int[16];
+		int waveSize = 0;
+		for (int cell = 0; cell < degree.length; cell++) {
+			if (degree[cell] == REMOVED) continue;
+			int neighbors = 0;
+			int r = cell / width, c = cell % width;
+			for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+				for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, width - 1); nc++) {
+					if ((nr != r || nc != c) && degree[nr * width + nc] != REMOVED) neighbors++;
+				}
+			}
+			degree[cell] = (byte) neighbors;
+		}
+		for (int cell = 0; cell < degree.length; cell++) {
+			if (degree[cell] != REMOVED && degree[cell] < 4) {
+				if (waveSize == wave.length) wave = Arrays.copyOf(wave, waveSize * 2);
+				wave[waveSize++] = cell;
+			}
+		}
+
+		int[] waves = new int[16];
+		int waveCount = 0;
+		int[] next = new int[16];
+		while (waveSize > 0) {
+			if (waveCount == waves.length) waves = Arrays.copyOf(waves, waveCount * 2);
+			waves[waveCount++] = waveSize;
+			int nextSize = 0;
+			for (int i = 0; i < waveSize; i++) {
+				int cell = wave[i];
+				degree[cell] = REMOVED;
+				int r = cell / width, c = cell % width;
+				for (int nr = Math.max(r - 1, 0); nr <= Math.min(r + 1, rows - 1); nr++) {
+					for (int nc = Math.max(c - 1, 0); nc <= Math.min(c + 1, width - 1); nc++) {
+						int neighbor = nr * width + nc;
+						// rolls of the current wave are already below 4, so only untouched rolls can cross to 3
+						if (degree[neighbor] != REMOVED && --degree[neighbor] == 3) {
+							if (nextSize == next.length) next = Arrays.copyOf(next, nextSize * 2);
+							next[nextSize++] = neighbor;
+						}
+					}
+				}
+			}
+			int[] swap = wave;
+			wave = next;
+			next = swap;
+			waveSize = nextSize;
+		}
+		return Arrays.copyOf(waves, waveCount);
+	}
+
 	public static int countAccessibleRolls(List<String> data) {
 		if (CollectionUtils.isEmpty(data)) {
 			return 0;
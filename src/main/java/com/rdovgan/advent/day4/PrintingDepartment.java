@@ -1,14 +1,30 @@
 package com.rdovgan.advent.day4;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.Solver;
 
 import java.util.List;
 
-public class PrintingDepartment {
+public class PrintingDepartment implements Solver {
 
 	public static void main(String[] args) {
-		List<String> data = new ResourceData().loadFromResource("data4.csv");
-		System.out.println(EscalatorUtil.countAccessibleRolls(data));
+		Solver.run(new PrintingDepartment(), args);
+	}
+
+	@Override
+	public int day() {
+		return 4;
+	}
+
+	@Override
+	public boolean cpuBound() {
+		// the bands are already spread over the common pool
+		return false;
+	}
+
+	@Override
+	public List<String> solve(MappedData data) {
+		return List.of(String.valueOf(EscalatorUtil.countAccessibleRollsTiled(data)));
 	}
 
 }
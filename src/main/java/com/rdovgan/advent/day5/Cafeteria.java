@@ -1,13 +1,23 @@
 package com.rdovgan.advent.day5;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.Solver;
 
 import java.util.List;
 
-public class Cafeteria {
+public class Cafeteria implements Solver {
 	public static void main(String[] args) {
-		List<String> data = new ResourceData().loadFromResource("data5.csv");
-		System.out.println(FreshnessUtil.defineFreshCount(data));
-		System.out.println(FreshnessUtil.defineTotalFreshCount(data));
+		Solver.run(new Cafeteria(), args);
+	}
+
+	@Override
+	public int day() {
+		return 5;
+	}
+
+	@Override
+	public List<String> solve(MappedData data) {
+		return List.of(String.valueOf(FreshnessUtil.defineFreshCount(data.lines())),
+				String.valueOf(FreshnessUtil.defineTotalFreshCount(data.lines())));
 	}
 }
@@ -0,0 +1,92 @@
+package com.rdovgan.advent.day5;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable lookup over merged fresh ranges, kept as two parallel arrays sorted by start. Ranges are inclusive at both
+ * ends, the same convention as {@link FreshnessUtil.Range}.
+ */
+public final class FreshIndex {
+
+	private static final int SWEEP_CHUNK = 1 << 16;
+
+	private final long[] starts;
+	private final long[] ends;
+
+	/**
+	 * @param merged disjoint ranges sorted by start, as produced by the merge step of {@link FreshnessUtil}
+	 */
+	FreshIndex(List<FreshnessUtil.Range> merged) {
+		starts = new long[merged.size()];
+		ends = new long[merged.size()];
+		for (int i = 0; i < merged.size(); i++) {
+			starts[i] = merged.get(i).start();
+			ends[i] = merged.get(i).end();
+		}
+	}
+
+	public int size() {
+		return starts.length;
+	}
+
+	public boolean contains(long id) {
+		int range = lastStartingAtOrBefore(id);
+		return range >= 0 && id <= ends[range];
+	}
+
+	/**
+	 * Number of ids covered by the ranges.
+	 */
+	public long totalFresh() {
+		long total = 0;
+		for (int i = 0; i < starts.length; i++) {
+			total += ends[i] - starts[i] + 1;
+		}
+		return total;
+	}
+
+	/**
+	 * Counts the fresh ids with one merge sweep over the sorted ids instead of a search per id. Large id lists are
+	 * sorted in parallel and swept in parallel chunks, each chunk finds its first range with a binary search.
+	 */
+	public long countFresh(long[] ids) {
+		long[] sorted = ids.clone();
+		Arrays.parallelSort(sorted);
+		int chunks = (sorted.length + SWEEP_CHUNK - 1) / SWEEP_CHUNK;
+		return IntStream.range(0, chunks).parallel()
+				.mapToLong(chunk -> sweep(sorted, chunk * SWEEP_CHUNK, Math.min(sorted.length, (chunk + 1) * SWEEP_CHUNK)))
+				.sum();
+	}
+
+	private long sweep(long[] sorted, int from, int to) {
+		long fresh = 0;
+		int range = Math.max(lastStartingAtOrBefore(sorted[from]), 0);
+		for (int i = from; i < to && range < starts.length; i++) {
+			long id = sorted[i];
+			while (range < starts.length && ends[range] < id) {
+				range++;
+			}
+			if (range < starts.length && id >= starts[range]) {
+				fresh++;
+			}
+		}
+		return fresh;
+	}
+
+	private int lastStartingAtOrBefore(long id) {
+		int low = 0, high = starts.length - 1, found = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (starts[middle] <= id) {
+				found = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return found;
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.rdovgan.advent.day5;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fresh ranges that change over time: disjoint inclusive ranges in a {@link TreeMap} from start to end, with the
+ * number of covered ids kept up to date on every change. Adding and removing a range costs O(log n) plus the ranges it
+ * merges or cuts, lookups O(log n) and the covered count O(1).
+ */
+public final class FreshIntervalSet {
+
+	private final TreeMap<Long, Long> ranges = new TreeMap<>();
+	private long covered;
+
+	public void add(long start, long end) {
+		checkRange(start, end);
+		// absorb the range that starts before and every range that starts inside or right after [start, end]
+		Map.Entry<Long, Long> before = ranges.floorEntry(start);
+		if (before != null && before.getValue() >= start - 1) {
+			start = before.getKey();
+			end = Math.max(end, before.getValue());
+			removeEntry(before);
+		}
+		for (Map.Entry<Long, Long> next = ranges.ceilingEntry(start); next != null && next.getKey() - 1 <= end;
+			 next = ranges.ceilingEntry(start)) {
+			end = Math.max(end, next.getValue());
+			removeEntry(next);
+		}
+		putEntry(start, end);
+	}
+
+	public void remove(long start, long end) {
+		checkRange(start, end);
+		Map.Entry<Long, Long> before = ranges.floorEntry(start);
+		if (before != null && before.getValue() >= start) {
+			cut(before, start, end);
+		}
+		for (Map.Entry<Long, Long> next = ranges.ceilingEntry(start); next != null && next.getKey() <= end;
+			 next = ranges.ceilingEntry(start)) {
+			cut(next, start, end);
+		}
+	}
+
+	public boolean contains(long id) {
+		Map.Entry<Long, Long> range = ranges.floorEntry(id);
+		return range != null && range.getValue() >= id;
+	}
+
+	/**
+	 * Number of fresh ids.
+	 */
+	public long covered() {
+		return covered;
+	}
+
+	public int size() {
+		return ranges.size();
+	}
+
+	// replaces the range with what is left of it outside [start, end]
+	private void cut(Map.Entry<Long, Long> range, long start, long end) {
+		removeEntry(range);
+		if (range.getKey() < start) {
+			putEntry(range.getKey(), start - 1);
+		}
+		if (range.getValue() > end) {
+			putEntry(end + 1, range.getValue());
+		}
+	}
+
+	private void removeEntry(Map.Entry<Long, Long> range) {
+		ranges.remove(range.getKey());
+		covered -= range.getValue() - range.getKey() + 1;
+	}
+
+	private void putEntry(long start, long end) {
+		ranges.put(start, end);
+		covered += end - start + 1;
+	}
+
+	private static void checkRange(long start, long end) {
+		if (start > end) {
+			throw new IllegalArgumentException("Range start is after its end: " + start + "-" + end);
+		}
+	}
+
+}
@@ -1,15 +1,20 @@
 package com.rdovgan.advent.day5;
 
-import org.apache.commons.lang3.StringUtils;
+import com.rdovgan.advent.util.ParseUtil;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
 public class FreshnessUtil {
 
+	/**
+	 * Fresh ids from {@code start} to {@code end}, both inclusive.
+	 */
 	record Range(long start, long end) {
 		boolean contains(long id) {
-			return id >= start && id < end;
+			return id >= start && id <= end;
 		}
 
 		Long defineTotal() {
@@ -17,10 +22,23 @@ public class FreshnessUtil {
 		}
 	}
 
-	public static Long defineTotalFreshCount(List<String> data) {
-		List<Range> ranges = defineFreshRanges(data);
-		ranges = defineIntersections(ranges);
-		return ranges.stream().mapToLong(Range::defineTotal).sum();
+	public static Long defineTotalFreshCount(List<? extends CharSequence> data) {
+		return defineFreshIndex(data).totalFresh();
+	}
+
+	public static FreshIndex defineFreshIndex(List<? extends CharSequence> data) {
+		return new FreshIndex(defineIntersections(defineFreshRanges(data)));
+	}
+
+	/**
+	 * Mutable counterpart of {@link #defineFreshIndex(List)} for ranges that keep changing.
+	 */
+	public static FreshIntervalSet defineFreshSet(List<? extends CharSequence> data) {
+		var set = new FreshIntervalSet();
+		for (Range range : defineFreshRanges(data)) {
+			set.add(range.start(), range.end());
+		}
+		return set;
 	}
 
 	private static List<Range> defineIntersections(List<Range> ranges) {
@@ -29,7 +47,7 @@ public class FreshnessUtil {
 		}
 
 		var sorted = ranges.stream().sorted(Comparator.comparingLong(a -> a.start)).toList();
-		var merged = new java.util.ArrayList<Range>();
+		var merged = new ArrayList<Range>();
 
 		Range current = sorted.getFirst();
 
@@ -47,21 +65,35 @@ public class FreshnessUtil {
 		return merged;
 	}
 
-	public static Long defineFreshCount(List<String> data) {
-		List<Range> ranges = defineFreshRanges(data);
-		List<Long> idsToCheck = defineIdsToCheck(data);
-		return idsToCheck.stream().filter(id -> ranges.stream().anyMatch(range -> range.contains(id))).count();
+	public static Long defineFreshCount(List<? extends CharSequence> data) {
+		return defineFreshIndex(data).countFresh(defineIdsToCheck(data));
 	}
 
-	private static List<Long> defineIdsToCheck(List<String> data) {
-		return data.stream().filter(record -> !StringUtils.contains(record, '-')).map(Long::parseLong).toList();
+	private static long[] defineIdsToCheck(List<? extends CharSequence> data) {
+		long[] ids = new long[16];
+		int count = 0;
+		long[] values = new long[2];
+		for (CharSequence record : data) {
+			// a record with a single number is an id, two numbers separated by '-' make a range
+			if (ParseUtil.parseLongs(record, '-', values) == 1 && ParseUtil.indexOf(record, '-', 0) < 0) {
+				if (count == ids.length) {
+					ids = Arrays.copyOf(ids, count * 2);
+				}
+				ids[count++] = values[0];
+			}
+		}
+		return Arrays.copyOf(ids, count);
 	}
 
-	private static List<Range> defineFreshRanges(List<String> data) {
-		return data.stream().filter(record -> StringUtils.contains(record, '-')).map(range -> {
-			int idx = range.indexOf('-');
-			return new Range(Long.parseLong(range.substring(0, idx)), Long.parseLong(range.substring(idx + 1)));
-		}).toList();
+	private static List<Range> defineFreshRanges(List<? extends CharSequence> data) {
+		List<Range> ranges = new ArrayList<>();
+		long[] values = new long[2];
+		for (CharSequence record : data) {
+			if (ParseUtil.parseLongs(record, '-', values) == 2) {
+				ranges.add(new Range(values[0], values[1]));
+			}
+		}
+		return ranges;
 	}
 
 }
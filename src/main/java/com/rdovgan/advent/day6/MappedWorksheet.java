@@ -0,0 +1,178 @@
+package com.rdovgan.advent.day6;
+
+import com.rdovgan.advent.util.ByteLine;
+import com.rdovgan.advent.util.MappedData;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Worksheet read column by column straight from a mapped file, for sheets of a few rows and any number of columns.
+ * Only the start and length of each row are recorded. {@link #evaluate()} walks the columns right to left through
+ * fixed-size windows, so the heap holds one window per row whatever the width of the sheet.
+ */
+public final class MappedWorksheet {
+
+	private static final int WINDOW_COLUMNS = 1 << 16;
+	private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+			100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+			100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+			1_000_000_000_000_000_000L };
+
+	private final MemorySegment segment;
+	private final long[] rowStarts;
+	private final long[] rowLengths;
+	private final long width;
+
+	private MappedWorksheet(MemorySegment segment, long[] rowStarts, long[] rowLengths) {
+		this.segment = segment;
+		this.rowStarts = rowStarts;
+		this.rowLengths = rowLengths;
+		this.width = Arrays.stream(rowLengths).max().orElse(0);
+	}
+
+	/**
+	 * Records the rows of {@code data} as {@link MappedData#lines()} gives them, trimmed and without blank rows, so the
+	 * columns line up the same way as for {@link WorksheetEvaluator} and the baseline readers.
+	 */
+	public static MappedWorksheet of(MappedData data) {
+		List<ByteLine> lines = data.lines();
+		long[] starts = new long[lines.size()];
+		long[] lengths = new long[lines.size()];
+		for (int row = 0; row < starts.length; row++) {
+			ByteLine line = lines.get(row);
+			starts[row] = line.offset();
+			lengths[row] = line.length();
+		}
+		return new MappedWorksheet(data.segment(), starts, lengths);
+	}
+
+	public int rows() {
+		return rowStarts.length;
+	}
+
+	public long width() {
+		return width;
+	}
+
+	/**
+	 * Same totals as {@link WorksheetEvaluator#evaluate(java.util.List)}. A problem is only closed when the walk
+	 * reaches its leftmost column, where the operator is, so both the sum and the product of its column numbers are
+	 * kept until then; the row numbers are built right to left with a digit count per row.
+	 */
+	public WorksheetTotals evaluate() {
+		if (rows() < 2) {
+			return new WorksheetTotals(BigInteger.ZERO, BigInteger.ZERO);
+		}
+		byte[][] window = new byte[rows()][WINDOW_COLUMNS];
+		var problem = new Problem(rows() - 1);
+		var rowWise = new WorksheetTotals.Total(0);
+		var columnWise = new WorksheetTotals.Total(0);
+		for (long windowEnd = width; windowEnd > 0; windowEnd -= WINDOW_COLUMNS) {
+			long windowStart = Math.max(0, windowEnd - WINDOW_COLUMNS);
+			loadWindow(window, windowStart, windowEnd);
+			for (int column = (int) (windowEnd - windowStart) - 1; column >= 0; column--) {
+				if (isBlank(window, column)) {
+					problem.close(rowWise, columnWise);
+				} else {
+					problem.addColumn(window, column);
+				}
+			}
+		}
+		problem.close(rowWise, columnWise);
+		return new WorksheetTotals(rowWise.toBigInteger(), columnWise.toBigInteger());
+	}
+
+	/**
+	 * The problem being walked through, it may span several windows.
+	 */
+	private static final class Problem {
+
+		private final int operandRows;
+		private final long[] rowNumbers;
+		private final int[] rowDigits;
+		private WorksheetTotals.Total columnSum = WorksheetTotals.Total.identity(false);
+		private WorksheetTotals.Total columnProduct = WorksheetTotals.Total.identity(true);
+		private byte operator = ' ';
+		private boolean open;
+
+		Problem(int operandRows) {
+			this.operandRows = operandRows;
+			this.rowNumbers = new long[operandRows];
+			this.rowDigits = new int[operandRows];
+		}
+
+		void addColumn(byte[][] window, int column) {
+			open = true;
+			if (window[operandRows][column] != ' ') {
+				operator = window[operandRows][column];
+			}
+			long number = 0;
+			boolean hasDigits = false;
+			for (int row = 0; row < operandRows; row++) {
+				int digit = window[row][column] - '0';
+				if (digit < 0 || digit > 9) {
+					continue;
+				}
+				number = Math.addExact(Math.multiplyExact(number, 10), digit);
+				hasDigits = true;
+				if (rowDigits[row] == POWERS_OF_TEN.length) {
+					throw new ArithmeticException("Number in row " + row + " does not fit in a long");
+				}
+				rowNumbers[row] = Math.addExact(rowNumbers[row], digit * POWERS_OF_TEN[rowDigits[row]++]);
+			}
+			if (hasDigits) {
+				columnSum.apply(false, number);
+				columnProduct.apply(true, number);
+			}
+		}
+
+		void close(WorksheetTotals.Total rowWise, WorksheetTotals.Total columnWise) {
+			if (!open) {
+				return;
+			}
+			boolean multiply = operator == '*';
+			if (multiply || operator == '+') {
+				var rowResult = WorksheetTotals.Total.identity(multiply);
+				for (int row = 0; row < operandRows; row++) {
+					if (rowDigits[row] > 0) {
+						rowResult.apply(multiply, rowNumbers[row]);
+					}
+				}
+				rowWise.add(rowResult);
+				columnWise.add(multiply ? columnProduct : columnSum);
+			}
+			Arrays.fill(rowNumbers, 0);
+			Arrays.fill(rowDigits, 0);
+			columnSum = WorksheetTotals.Total.identity(false);
+			columnProduct = WorksheetTotals.Total.identity(true);
+			operator = ' ';
+			open = false;
+		}
+	}
+
+	// copies columns [from, to) of every row into the window, cells past the end of a row become blanks
+	private void loadWindow(byte[][] window, long from, long to) {
+		int columns = (int) (to - from);
+		for (int row = 0; row < window.length; row++) {
+			int available = (int) Math.max(0, Math.min(columns, rowLengths[row] - from));
+			if (available > 0) {
+				MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, rowStarts[row] + from, window[row], 0, available);
+			}
+			Arrays.fill(window[row], available, columns, (byte) ' ');
+		}
+	}
+
+	private static boolean isBlank(byte[][] window, int column) {
+		for (byte[] row : window) {
+			if (row[column] != ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
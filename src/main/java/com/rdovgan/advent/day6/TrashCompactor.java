@@ -1,15 +1,23 @@
 package com.rdovgan.advent.day6;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.Solver;
 
-import java.util.Arrays;
 import java.util.List;
 
-public class TrashCompactor {
+public class TrashCompactor implements Solver {
 	public static void main(String[] args) {
-		List<String> data = new ResourceData().loadFromResource("data6.csv");
-		System.out.println(MathUtil.defineProblems(data));
-		var result = CephalopodsUtil.calculate(data);
-		System.out.println(result);
+		Solver.run(new TrashCompactor(), args);
+	}
+
+	@Override
+	public int day() {
+		return 6;
+	}
+
+	@Override
+	public List<String> solve(MappedData input) {
+		WorksheetTotals totals = MappedWorksheet.of(input).evaluate();
+		return List.of(totals.rowWise().toString(), totals.columnWise().toString());
 	}
 }
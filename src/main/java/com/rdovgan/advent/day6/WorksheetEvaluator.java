@@ -0,0 +1,132 @@
+package com.rdovgan.advent.day6;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates a worksheet for both readings at once. One pass over the columns finds the problems (runs of columns
+ * separated by columns that are blank in every row), then the problems are evaluated in parallel straight from the
+ * rows: digits are accumulated in place along each row for {@link MathUtil} and down each column for
+ * {@link CephalopodsUtil}, nothing is copied or re-parsed.
+ */
+public final class WorksheetEvaluator {
+
+	private WorksheetEvaluator() {
+	}
+
+	/**
+	 * @param lines operand rows followed by the operator row; cells past the end of a row count as blank
+	 */
+	public static WorksheetTotals evaluate(List<? extends CharSequence> lines) {
+		if (lines.size() < 2) {
+			return new WorksheetTotals(BigInteger.ZERO, BigInteger.ZERO);
+		}
+		int width = 0;
+		for (CharSequence line : lines) {
+			width = Math.max(width, line.length());
+		}
+		int[] bounds = problemBounds(lines, width);
+		Sums sums = IntStream.range(0, bounds.length / 2).parallel()
+				.collect(Sums::new, (sum, problem) -> sum.add(lines, bounds[2 * problem], bounds[2 * problem + 1]), Sums::add);
+		return new WorksheetTotals(sums.rowWise.toBigInteger(), sums.columnWise.toBigInteger());
+	}
+
+	/**
+	 * @return {@code [from, to)} column pairs of the problems, left to right
+	 */
+	static int[] problemBounds(List<? extends CharSequence> lines, int width) {
+		int[] bounds = new int[16];
+		int count = 0;
+		int start = -1;
+		for (int column = 0; column <= width; column++) {
+			boolean blank = column == width || isBlankColumn(lines, column);
+			if (!blank && start < 0) {
+				start = column;
+			} else if (blank && start >= 0) {
+				if (count + 2 > bounds.length) {
+					bounds = Arrays.copyOf(bounds, bounds.length * 2);
+				}
+				bounds[count++] = start;
+				bounds[count++] = column;
+				start = -1;
+			}
+		}
+		return Arrays.copyOf(bounds, count);
+	}
+
+	private static boolean isBlankColumn(List<? extends CharSequence> lines, int column) {
+		for (CharSequence line : lines) {
+			if (cell(line, column) != ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char cell(CharSequence line, int column) {
+		return column < line.length() ? line.charAt(column) : ' ';
+	}
+
+	private static final class Sums {
+
+		private final WorksheetTotals.Total rowWise = new WorksheetTotals.Total(0);
+		private final WorksheetTotals.Total columnWise = new WorksheetTotals.Total(0);
+
+		void add(List<? extends CharSequence> lines, int from, int to) {
+			CharSequence operators = lines.getLast();
+			char operator = ' ';
+			for (int column = from; column < to && operator == ' '; column++) {
+				operator = cell(operators, column);
+			}
+			if (operator != '+' && operator != '*') {
+				return;
+			}
+			boolean multiply = operator == '*';
+			int operandRows = lines.size() - 1;
+
+			var rows = WorksheetTotals.Total.identity(multiply);
+			for (int row = 0; row < operandRows; row++) {
+				CharSequence line = lines.get(row);
+				long number = 0;
+				boolean hasDigits = false;
+				for (int column = from; column < to; column++) {
+					int digit = cell(line, column) - '0';
+					if (digit >= 0 && digit <= 9) {
+						number = Math.addExact(Math.multiplyExact(number, 10), digit);
+						hasDigits = true;
+					}
+				}
+				if (hasDigits) {
+					rows.apply(multiply, number);
+				}
+			}
+
+			var columns = WorksheetTotals.Total.identity(multiply);
+			for (int column = from; column < to; column++) {
+				long number = 0;
+				boolean hasDigits = false;
+				for (int row = 0; row < operandRows; row++) {
+					int digit = cell(lines.get(row), column) - '0';
+					if (digit >= 0 && digit <= 9) {
+						number = Math.addExact(Math.multiplyExact(number, 10), digit);
+						hasDigits = true;
+					}
+				}
+				if (hasDigits) {
+					columns.apply(multiply, number);
+				}
+			}
+
+			rowWise.add(rows);
+			columnWise.add(columns);
+		}
+
+		void add(Sums other) {
+			rowWise.add(other.rowWise);
+			columnWise.add(other.columnWise);
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.rdovgan.advent.day6;
+
+import java.math.BigInteger;
+
+/**
+ * Grand totals of a worksheet for both readings: numbers written along the rows ({@link MathUtil}) and numbers
+ * written down the columns ({@link CephalopodsUtil}).
+ */
+public record WorksheetTotals(BigInteger rowWise, BigInteger columnWise) {
+
+	/**
+	 * Running total that stays a {@code long} until it overflows and only then moves to {@link BigInteger}. The same
+	 * class folds the operands of a single problem with {@link #apply(boolean, long)}.
+	 */
+	static final class Total {
+
+		private long value;
+		private BigInteger overflow;
+
+		Total(long initial) {
+			value = initial;
+		}
+
+		static Total identity(boolean multiply) {
+			return new Total(multiply ? 1 : 0);
+		}
+
+		void apply(boolean multiply, long operand) {
+			if (overflow != null) {
+				overflow = multiply ? overflow.multiply(BigInteger.valueOf(operand)) : overflow.add(BigInteger.valueOf(operand));
+				return;
+			}
+			try {
+				value = multiply ? Math.multiplyExact(value, operand) : Math.addExact(value, operand);
+			} catch (ArithmeticException e) {
+				overflow = BigInteger.valueOf(value);
+				apply(multiply, operand);
+			}
+		}
+
+		void add(Total other) {
+			if (overflow == null && other.overflow == null) {
+				apply(false, other.value);
+			} else {
+				overflow = toBigInteger().add(other.toBigInteger());
+			}
+		}
+
+		BigInteger toBigInteger() {
+			return overflow != null ? overflow : BigInteger.valueOf(value);
+		}
+	}
+
+}
@@ -1,13 +1,38 @@
 package com.rdovgan.advent.day7;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.ParseUtil;
+import com.rdovgan.advent.util.Solver;
 
+import java.io.IOException;
 import java.util.List;
 
-public class Laboratories {
-	public static void main(String[] args) {
-		List<String> data = new ResourceData().loadFromResource("data7.csv");
-		System.out.println(TeleporterLab.countBeamSplits(data));
-		System.out.println(QuantumManifold.countTimelines(data));
+public class Laboratories implements Solver {
+
+	/**
+	 * With {@code -} as the argument the manifold is streamed from standard input instead of being mapped.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length > 0 && args[0].equals("-")) {
+			var counts = new ManifoldStream().feed(System.in).finish().counts();
+			System.out.println(counts.splits());
+			System.out.println(counts.timelines());
+			return;
+		}
+		Solver.run(new Laboratories(), args);
+	}
+
+	@Override
+	public int day() {
+		return 7;
+	}
+
+	@Override
+	public List<String> solve(MappedData input) {
+		// a dense grid has no commas, the splitter coordinate format starts with a width,height,... header
+		boolean sparse = input.stream().findFirst().map(line -> ParseUtil.indexOf(line, ',', 0) >= 0).orElse(false);
+		// otherwise both parts in one pass over the mapped lines
+		var counts = sparse ? SparseManifold.parse(input.lines()).counts() : new ManifoldStream().rows(input.stream()).counts();
+		return List.of(String.valueOf(counts.splits()), String.valueOf(counts.timelines()));
 	}
 }
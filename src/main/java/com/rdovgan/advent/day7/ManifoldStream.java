@@ -0,0 +1,129 @@
+package com.rdovgan.advent.day7;
+
+import com.rdovgan.advent.util.ByteLine;
+import com.rdovgan.advent.util.ParseUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.MemorySegment;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Split count ({@link TeleporterLab}) and timeline count ({@link QuantumManifold}) of a manifold in one pass over its
+ * rows. Rows are taken one at a time, as bytes or as lines, and only the current row, a {@link BeamFrontier} and a
+ * {@link TimelineCounter} are kept, so the grid itself never has to fit in memory. Rows are trimmed and blank rows are
+ * skipped, the same as the lines of {@link com.rdovgan.advent.util.MappedData}.
+ */
+public final class ManifoldStream {
+
+	private static final int BUFFER_BYTES = 1 << 16;
+
+	public record Counts(long splits, BigInteger timelines) {
+	}
+
+	private BeamFrontier frontier;
+	private TimelineCounter timelines;
+	private long splits;
+
+	// row in progress when reading bytes
+	private byte[] row = new byte[256];
+	private int rowLength;
+
+	public ManifoldStream feed(InputStream input) throws IOException {
+		return feed(Channels.newChannel(input));
+	}
+
+	/**
+	 * Reads the channel to its end. A last row without a line break is kept pending, call {@link #finish()} when the
+	 * input is complete.
+	 */
+	public ManifoldStream feed(ReadableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+		while (channel.read(buffer) >= 0) {
+			feed(buffer.array(), 0, buffer.position());
+			buffer.clear();
+		}
+		return this;
+	}
+
+	public ManifoldStream feed(byte[] bytes, int from, int to) {
+		for (int i = from; i < to; i++) {
+			byte b = bytes[i];
+			if (b == '\n') {
+				endRow();
+				continue;
+			}
+			if (rowLength == row.length) {
+				row = Arrays.copyOf(row, rowLength * 2);
+			}
+			row[rowLength++] = b;
+		}
+		return this;
+	}
+
+	/**
+	 * Applies a last row that has no line break.
+	 */
+	public ManifoldStream finish() {
+		endRow();
+		return this;
+	}
+
+	/**
+	 * Applies already split lines in order, e.g. {@code MappedData.stream()}.
+	 */
+	public ManifoldStream rows(Stream<? extends CharSequence> lines) {
+		lines.sequential().forEachOrdered(this::row);
+		return this;
+	}
+
+	/**
+	 * Applies the next non-blank, trimmed row.
+	 *
+	 * @throws IllegalArgumentException when a beam reaches two adjacent splitters, see
+	 *                                  {@link QuantumManifold#countTimelinesPacked(java.util.List)}
+	 */
+	public ManifoldStream row(CharSequence line) {
+		if (frontier == null) {
+			int start = ParseUtil.indexOf(line, 'S', 0);
+			if (start >= 0) {
+				frontier = new BeamFrontier(start);
+				timelines = new TimelineCounter(start);
+			}
+			return this;
+		}
+		if (!frontier.isEmpty()) {
+			splits += frontier.advance(line);
+		}
+		if (!timelines.isEmpty()) {
+			timelines.advance(line);
+		}
+		return this;
+	}
+
+	public Counts counts() {
+		return new Counts(splits, timelines == null ? BigInteger.ZERO : timelines.total());
+	}
+
+	private void endRow() {
+		int from = 0;
+		int to = rowLength;
+		// same rule as String.trim()
+		while (from < to && (row[from] & 0xFF) <= ' ') {
+			from++;
+		}
+		while (to > from && (row[to - 1] & 0xFF) <= ' ') {
+			to--;
+		}
+		if (to > from) {
+			row(new ByteLine(MemorySegment.ofArray(row), from, to - from));
+		}
+		rowLength = 0;
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.rdovgan.advent.day7;
 
+import com.rdovgan.advent.util.ParseUtil;
+
 import java.math.BigInteger;
 import java.util.ArrayDeque;
 import java.util.Arrays;
@@ -11,6 +13,7 @@ import java.util.List;
  *
  * Public API:
  *   public static BigInteger countTimelines(List<String> grid)
+ *   public static BigInteger countTimelinesPacked(List<? extends CharSequence> grid)
  *
  * - Returns the number of distinct timelines produced by a single quantum tachyon particle.
  * - Uses BigInteger because the number of timelines can grow exponentially.
@@ -19,6 +22,32 @@ import java.util.List;
 public final class QuantumManifold {
 	private QuantumManifold() {}
 
+	/**
+	 * Same count as {@link #countTimelines(List)} on primitive buffers (see {@link TimelineCounter}), the work per row
+	 * is proportional to the live beams rather than the width. A beam that reaches two adjacent splitters is rejected
+	 * with an {@link IllegalArgumentException}, {@link #countTimelines(List)} never returns for such a grid.
+	 */
+	public static BigInteger countTimelinesPacked(List<? extends CharSequence> grid) {
+		if (grid == null || grid.isEmpty()) return BigInteger.ZERO;
+
+		int rows = grid.size();
+		int startRow = -1, startCol = -1;
+		for (int r = 0; r < rows && startRow == -1; r++) {
+			CharSequence row = grid.get(r);
+			if (row == null) continue;
+			startCol = ParseUtil.indexOf(row, 'S', 0);
+			if (startCol >= 0) startRow = r;
+		}
+		if (startRow == -1) return BigInteger.ZERO;
+		if (startRow >= rows - 1) return BigInteger.ONE;
+
+		var counter = new TimelineCounter(startCol);
+		for (int r = startRow + 1; r < rows && !counter.isEmpty(); r++) {
+			counter.advance(grid.get(r));
+		}
+		return counter.total();
+	}
+
 	public static BigInteger countTimelines(List<String> grid) {
 		if (grid == null || grid.isEmpty()) return BigInteger.ZERO;
 
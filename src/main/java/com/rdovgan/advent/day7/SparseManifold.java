@@ -0,0 +1,296 @@
+package com.rdovgan.advent.day7;
+
+import com.rdovgan.advent.util.ParseUtil;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Manifold given by its splitter coordinates instead of the dense grid, for grids that are mostly empty:
+ *
+ * <pre>
+ * width,height,startRow,startColumn
+ * row,column
+ * row,column
+ * ...
+ * </pre>
+ *
+ * Every row is {@code width} columns wide. Splitters may be listed in any order and duplicates are ignored.
+ * {@link #counts()} only stops at the rows that have splitters, rows between them leave the beams as they are. The live
+ * beams are a primitive column to timeline count map that is updated in place, so every splitter costs one lookup and
+ * a hit splitter a few more. The sweep scales with the number of splitters and live beams, not with the grid area.
+ */
+public final class SparseManifold {
+
+	private final int width;
+	private final int height;
+	private final int startRow;
+	private final int startColumn;
+	// row << 32 | column, sorted
+	private final long[] splitters;
+
+	private SparseManifold(int width, int height, int startRow, int startColumn, long[] splitters) {
+		this.width = width;
+		this.height = height;
+		this.startRow = startRow;
+		this.startColumn = startColumn;
+		this.splitters = splitters;
+	}
+
+	/**
+	 * Blank lines are skipped, every other line after the header must be exactly {@code row,column}.
+	 *
+	 * @throws IllegalArgumentException when the header is missing, a line is not a splitter or a splitter lies outside
+	 *                                  the grid
+	 */
+	public static SparseManifold parse(List<? extends CharSequence> lines) {
+		int[] header = new int[4];
+		if (lines.isEmpty() || ParseUtil.parseInts(lines.getFirst(), ',', header) != 4 || header[0] < 0 || header[1] < 0) {
+			throw new IllegalArgumentException("Expected width,height,startRow,startColumn header");
+		}
+		int width = header[0];
+		int height = header[1];
+		long[] keys = new long[lines.size() - 1];
+		int size = 0;
+		int[] coords = new int[2];
+		for (CharSequence line : lines.subList(1, lines.size())) {
+			if (isBlank(line)) {
+				continue;
+			}
+			int comma = ParseUtil.indexOf(line, ',', 0);
+			if (comma < 0 || ParseUtil.indexOf(line, ',', comma + 1) >= 0 || ParseUtil.parseInts(line, ',', coords) != 2) {
+				throw new IllegalArgumentException("Expected row,column: " + line);
+			}
+			if (coords[0] < 0 || coords[0] >= height || coords[1] < 0 || coords[1] >= width) {
+				throw new IllegalArgumentException("Splitter outside the grid: " + line);
+			}
+			keys[size++] = (long) coords[0] << 32 | coords[1];
+		}
+		keys = Arrays.copyOf(keys, size);
+		Arrays.parallelSort(keys);
+		return new SparseManifold(width, height, header[2], header[3], Arrays.stream(keys).distinct().toArray());
+	}
+
+	public int splitterCount() {
+		return splitters.length;
+	}
+
+	/**
+	 * Same split count and timeline count as {@link ManifoldStream} on the dense grid.
+	 *
+	 * @throws IllegalArgumentException when a beam reaches two adjacent splitters, see
+	 *                                  {@link QuantumManifold#countTimelinesPacked(List)}
+	 */
+	public ManifoldStream.Counts counts() {
+		if (startRow < 0 || startRow >= height || startColumn < 0 || startColumn >= width) {
+			return new ManifoldStream.Counts(0, BigInteger.ZERO);
+		}
+		var beams = new Beams(startColumn);
+		long splits = 0;
+		int first = Arrays.binarySearch(splitters, (long) startRow << 32 | 0xFFFF_FFFFL);
+		for (int from = first >= 0 ? first + 1 : -first - 1; from < splitters.length && !beams.isEmpty(); ) {
+			int row = (int) (splitters[from] >>> 32);
+			int to = from;
+			while (to < splitters.length && (int) (splitters[to] >>> 32) == row) {
+				to++;
+			}
+			splits += beams.advance(splitters, from, to, width);
+			from = to;
+		}
+		return new ManifoldStream.Counts(splits, beams.total());
+	}
+
+	private static boolean isBlank(CharSequence line) {
+		for (int i = 0; line != null && i < line.length(); i++) {
+			if (line.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Live beams as an open-addressing map from column to timeline count, with linear probing and backward-shift
+	 * deletion, so there are no tombstones. A count moves to {@link BigInteger} only when it overflows, like in
+	 * {@link TimelineCounter}.
+	 */
+	private static final class Beams {
+
+		private static final int EMPTY = -1;
+
+		private int[] columns;
+		private long[] counts;
+		// promoted beams, allocated on the first overflow; a non-null entry replaces the long count
+		private BigInteger[] big;
+		private int size;
+		private int shift;
+
+		// hits of the row being applied
+		private int[] hitColumns = new int[16];
+		private long[] hitCounts = new long[16];
+		private BigInteger[] hitBig = new BigInteger[16];
+
+		Beams(int startColumn) {
+			allocate(16);
+			add(startColumn, 1, null);
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		/**
+		 * Applies the splitters {@code [from, to)} of one row, they are sorted by column. A beam on a splitter is removed
+		 * and its count goes to both sides. A hit splitter has no splitter next to it, so no beam created here lands on
+		 * a splitter of the same row and all hits can be taken out before their counts are moved.
+		 *
+		 * @return number of splitters hit
+		 */
+		int advance(long[] splitters, int from, int to, int width) {
+			int hits = 0;
+			for (int s = from; s < to; s++) {
+				int column = (int) splitters[s];
+				int slot = find(column);
+				if (columns[slot] == EMPTY) {
+					continue;
+				}
+				boolean adjacent = s > from && (int) splitters[s - 1] == column - 1
+						|| s + 1 < to && (int) splitters[s + 1] == column + 1;
+				if (adjacent) {
+					throw new IllegalArgumentException("Beam reaches adjacent splitters at column " + column);
+				}
+				if (hits == hitColumns.length) {
+					hitColumns = Arrays.copyOf(hitColumns, hits * 2);
+					hitCounts = Arrays.copyOf(hitCounts, hits * 2);
+					hitBig = Arrays.copyOf(hitBig, hits * 2);
+				}
+				hitColumns[hits] = column;
+				hitCounts[hits] = counts[slot];
+				hitBig[hits] = big == null ? null : big[slot];
+				hits++;
+				remove(slot);
+			}
+			for (int i = 0; i < hits; i++) {
+				int column = hitColumns[i];
+				if (column > 0) {
+					add(column - 1, hitCounts[i], hitBig[i]);
+				}
+				if (column + 1 < width) {
+					add(column + 1, hitCounts[i], hitBig[i]);
+				}
+				hitBig[i] = null;
+			}
+			return hits;
+		}
+
+		BigInteger total() {
+			long sum = 0;
+			BigInteger overflow = null;
+			for (int slot = 0; slot < columns.length; slot++) {
+				if (columns[slot] == EMPTY) {
+					continue;
+				}
+				BigInteger count = big != null ? big[slot] : null;
+				if (overflow == null && count == null) {
+					try {
+						sum = Math.addExact(sum, counts[slot]);
+						continue;
+					} catch (ArithmeticException e) {
+						// continue in BigInteger from here
+					}
+				}
+				overflow = (overflow == null ? BigInteger.valueOf(sum) : overflow)
+						.add(count != null ? count : BigInteger.valueOf(counts[slot]));
+			}
+			return overflow != null ? overflow : BigInteger.valueOf(sum);
+		}
+
+		private void add(int column, long count, BigInteger bigCount) {
+			int slot = find(column);
+			if (columns[slot] == EMPTY) {
+				columns[slot] = column;
+				counts[slot] = count;
+				if (bigCount != null) {
+					promote()[slot] = bigCount;
+				}
+				if (++size * 2 > columns.length) {
+					rehash();
+				}
+				return;
+			}
+			if (bigCount == null && (big == null || big[slot] == null)) {
+				try {
+					counts[slot] = Math.addExact(counts[slot], count);
+					return;
+				} catch (ArithmeticException e) {
+					// promote this beam only
+				}
+			}
+			BigInteger[] promoted = promote();
+			BigInteger current = promoted[slot] != null ? promoted[slot] : BigInteger.valueOf(counts[slot]);
+			promoted[slot] = current.add(bigCount != null ? bigCount : BigInteger.valueOf(count));
+		}
+
+		// slot of column, or the empty slot where it would go
+		private int find(int column) {
+			int mask = columns.length - 1;
+			int slot = (column * 0x9E3779B9) >>> shift;
+			while (columns[slot] != EMPTY && columns[slot] != column) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		private void remove(int slot) {
+			int mask = columns.length - 1;
+			int hole = slot;
+			// move later entries of the probe run back so that every lookup still reaches them
+			for (int next = (hole + 1) & mask; columns[next] != EMPTY; next = (next + 1) & mask) {
+				int home = (columns[next] * 0x9E3779B9) >>> shift;
+				if (((next - home) & mask) >= ((next - hole) & mask)) {
+					columns[hole] = columns[next];
+					counts[hole] = counts[next];
+					if (big != null) {
+						big[hole] = big[next];
+					}
+					hole = next;
+				}
+			}
+			columns[hole] = EMPTY;
+			if (big != null) {
+				big[hole] = null;
+			}
+			size--;
+		}
+
+		private BigInteger[] promote() {
+			if (big == null) {
+				big = new BigInteger[columns.length];
+			}
+			return big;
+		}
+
+		private void allocate(int capacity) {
+			columns = new int[capacity];
+			Arrays.fill(columns, EMPTY);
+			counts = new long[capacity];
+			shift = Integer.numberOfLeadingZeros(capacity - 1);
+		}
+
+		private void rehash() {
+			int[] oldColumns = columns;
+			long[] oldCounts = counts;
+			BigInteger[] oldBig = big;
+			allocate(oldColumns.length * 2);
+			big = null;
+			size = 0;
+			for (int slot = 0; slot < oldColumns.length; slot++) {
+				if (oldColumns[slot] != EMPTY) {
+					add(oldColumns[slot], oldCounts[slot], oldBig == null ? null : oldBig[slot]);
+				}
+			}
+		}
+	}
+
+}
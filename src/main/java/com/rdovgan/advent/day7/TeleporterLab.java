@@ -1,5 +1,7 @@
 package com.rdovgan.advent.day7;
 
+import com.rdovgan.advent.util.ParseUtil;
+
 import java.util.ArrayDeque;
 import java.util.HashSet;
 import java.util.List;
@@ -23,13 +25,32 @@ public final class TeleporterLab {
 		return simulateBeams(grid, startPos);
 	}
 
-	private static StartPosition findStartPosition(List<String> grid) {
+	/**
+	 * Same result as {@link #countBeamSplits(List)}, with the beams of each row kept in a {@link BeamFrontier}.
+	 */
+	public static long countBeamSplitsPacked(List<? extends CharSequence> grid) {
+		if (grid == null || grid.isEmpty()) {
+			return 0;
+		}
+		StartPosition startPos = findStartPosition(grid);
+		if (startPos == null) {
+			return 0;
+		}
+		var frontier = new BeamFrontier(startPos.col);
+		long totalSplits = 0;
+		for (int row = startPos.row + 1; row < grid.size() && !frontier.isEmpty(); row++) {
+			totalSplits += frontier.advance(grid.get(row));
+		}
+		return totalSplits;
+	}
+
+	private static StartPosition findStartPosition(List<? extends CharSequence> grid) {
 		for (int row = 0; row < grid.size(); row++) {
-			String rowStr = grid.get(row);
+			CharSequence rowStr = grid.get(row);
 			if (rowStr == null) {
 				continue;
 			}
-			int col = rowStr.indexOf('S');
+			int col = ParseUtil.indexOf(rowStr, 'S', 0);
 			if (col >= 0) {
 				return new StartPosition(row, col);
 			}
@@ -0,0 +1,149 @@
+package com.rdovgan.advent.day7;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Timeline counts per beam column, row by row, in two reused {@code long[]} buffers. Only the live columns are
+ * visited, they are kept in a list next to the counts. A column moves to {@link BigInteger} only when its own count
+ * overflows, so the usual case never allocates.
+ */
+final class TimelineCounter {
+
+	private long[] counts;
+	private long[] nextCounts;
+	// promoted columns, allocated on the first overflow; a non-null entry replaces the long count
+	private BigInteger[] big;
+	private BigInteger[] nextBig;
+	private int[] live;
+	private int[] nextLive;
+	private int liveCount;
+	private int nextLiveCount;
+
+	TimelineCounter(int startColumn) {
+		counts = new long[startColumn + 2];
+		nextCounts = new long[counts.length];
+		live = new int[16];
+		nextLive = new int[16];
+		counts[startColumn] = 1;
+		live[liveCount++] = startColumn;
+	}
+
+	boolean isEmpty() {
+		return liveCount == 0;
+	}
+
+	/**
+	 * Moves the timelines through {@code row} like {@link QuantumManifold#countTimelines(java.util.List)}: a beam on a
+	 * splitter continues on both sides, a beam outside the row is lost.
+	 *
+	 * @throws IllegalArgumentException when a beam reaches two adjacent splitters, it would bounce between them forever
+	 */
+	void advance(CharSequence row) {
+		int length = row == null ? 0 : row.length();
+		ensureCapacity(length + 1);
+		for (int i = 0; i < liveCount; i++) {
+			int column = live[i];
+			long count = counts[column];
+			BigInteger bigCount = big == null ? null : big[column];
+			counts[column] = 0;
+			if (bigCount != null) {
+				big[column] = null;
+			}
+			if (column >= length) {
+				continue;
+			}
+			if (row.charAt(column) != BeamFrontier.SPLITTER) {
+				add(column, count, bigCount);
+				continue;
+			}
+			if (column > 0 && row.charAt(column - 1) == BeamFrontier.SPLITTER
+					|| column + 1 < length && row.charAt(column + 1) == BeamFrontier.SPLITTER) {
+				throw new IllegalArgumentException("Beam reaches adjacent splitters at column " + column);
+			}
+			if (column > 0) {
+				add(column - 1, count, bigCount);
+			}
+			if (column + 1 < length) {
+				add(column + 1, count, bigCount);
+			}
+		}
+		swap();
+	}
+
+	BigInteger total() {
+		long sum = 0;
+		BigInteger overflow = null;
+		for (int i = 0; i < liveCount; i++) {
+			int column = live[i];
+			if (big != null && big[column] != null) {
+				overflow = (overflow == null ? BigInteger.valueOf(sum) : overflow).add(big[column]);
+				continue;
+			}
+			if (overflow != null) {
+				overflow = overflow.add(BigInteger.valueOf(counts[column]));
+				continue;
+			}
+			try {
+				sum = Math.addExact(sum, counts[column]);
+			} catch (ArithmeticException e) {
+				overflow = BigInteger.valueOf(sum).add(BigInteger.valueOf(counts[column]));
+			}
+		}
+		return overflow != null ? overflow : BigInteger.valueOf(sum);
+	}
+
+	private void add(int column, long count, BigInteger bigCount) {
+		boolean isLive = nextCounts[column] != 0 || nextBig != null && nextBig[column] != null;
+		if (!isLive) {
+			if (nextLiveCount == nextLive.length) {
+				nextLive = Arrays.copyOf(nextLive, nextLiveCount * 2);
+			}
+			nextLive[nextLiveCount++] = column;
+		}
+		if (bigCount == null && (nextBig == null || nextBig[column] == null)) {
+			try {
+				nextCounts[column] = Math.addExact(nextCounts[column], count);
+				return;
+			} catch (ArithmeticException e) {
+				// promote this column only
+			}
+		}
+		if (nextBig == null) {
+			nextBig = new BigInteger[nextCounts.length];
+			big = new BigInteger[counts.length];
+		}
+		BigInteger current = nextBig[column] != null ? nextBig[column] : BigInteger.valueOf(nextCounts[column]);
+		nextBig[column] = current.add(bigCount != null ? bigCount : BigInteger.valueOf(count));
+		// keeps the column marked as live in the long buffer
+		nextCounts[column] = 1;
+	}
+
+	private void swap() {
+		long[] countsSwap = counts;
+		counts = nextCounts;
+		nextCounts = countsSwap;
+		BigInteger[] bigSwap = big;
+		big = nextBig;
+		nextBig = bigSwap;
+		int[] liveSwap = live;
+		live = nextLive;
+		nextLive = liveSwap;
+		liveCount = nextLiveCount;
+		nextLiveCount = 0;
+	}
+
+	private void ensureCapacity(int columns) {
+		if (columns <= counts.length) {
+			return;
+		}
+		int capacity = Math.max(columns, counts.length * 2);
+		counts = Arrays.copyOf(counts, capacity);
+		nextCounts = Arrays.copyOf(nextCounts, capacity);
+		if (big != null) {
+			big = Arrays.copyOf(big, capacity);
+			nextBig = Arrays.copyOf(nextBig, capacity);
+		}
+	}
+
+}
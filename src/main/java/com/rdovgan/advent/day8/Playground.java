@@ -1,17 +1,28 @@
 package com.rdovgan.advent.day8;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.ParsedCache;
+import com.rdovgan.advent.util.Solver;
 
 import java.math.BigInteger;
 import java.util.List;
 
-public class Playground {
+public class Playground implements Solver {
 	public static void main(String[] args) {
-		List<String> lines = new ResourceData().loadFromResource("data8.csv");
-		List<Point> pts = SpaceUtil.definePoints(lines);
+		Solver.run(new Playground(), args);
+	}
+
+	@Override
+	public int day() {
+		return 8;
+	}
+
+	@Override
+	public List<String> solve(MappedData lines) {
+		int[] packed = ParsedCache.ints("day8-points", lines, data -> SpaceUtil.packPoints(SpaceUtil.definePoints(data.lines())));
+		List<Point> pts = SpaceUtil.definePoints(packed);
 		BigInteger product = SpaceUtil.multiplyTop3ByConnectingKPairs(pts, 1000);
-		System.out.println(product);
 		BigInteger xProduct = SpaceUtil.productOfXCoordinatesOfLastConnection(pts);
-		System.out.println(xProduct);
+		return List.of(product.toString(), xProduct.toString());
 	}
 }
@@ -1,6 +1,7 @@
 package com.rdovgan.advent.day8;
 
-import org.apache.commons.lang3.math.NumberUtils;
+import com.rdovgan.advent.util.ParseUtil;
+import com.rdovgan.advent.util.Phase;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -21,26 +22,48 @@ public class SpaceUtil {
 		return dx * dx + dy * dy + dz * dz;
 	}
 
-	public static List<Point> definePoints(List<String> lines) {
+	public static List<Point> definePoints(List<? extends CharSequence> lines) {
 		if (lines == null) {
 			return Collections.emptyList();
 		}
+		try (var _ = Phase.begin("day8", "parse")) {
+			return parsePoints(lines);
+		}
+	}
+
+	private static List<Point> parsePoints(List<? extends CharSequence> lines) {
 		List<Point> pts = new ArrayList<>(lines.size());
-		for (String line : lines) {
+		int[] coords = new int[3];
+		for (CharSequence line : lines) {
 			if (line == null) {
 				continue;
 			}
-			String[] parts = line.trim().split(",");
-			if (parts.length < 3) {
-				continue;
-			}
-			Integer x = NumberUtils.createInteger(parts[0].trim());
-			Integer y = NumberUtils.createInteger(parts[1].trim());
-			Integer z = NumberUtils.createInteger(parts[2].trim());
-			if (x == null || y == null || z == null) {
+			if (ParseUtil.parseInts(line, ',', coords) < 3) {
 				continue;
 			}
-			pts.add(new Point(x, y, z));
+			pts.add(new Point(coords[0], coords[1], coords[2]));
+		}
+		return pts;
+	}
+
+	/**
+	 * Flattens points into {@code x, y, z} triples, the form kept in the parsed input cache.
+	 */
+	public static int[] packPoints(List<Point> points) {
+		int[] packed = new int[points.size() * 3];
+		for (int i = 0; i < points.size(); i++) {
+			Point p = points.get(i);
+			packed[3 * i] = p.x();
+			packed[3 * i + 1] = p.y();
+			packed[3 * i + 2] = p.z();
+		}
+		return packed;
+	}
+
+	public static List<Point> definePoints(int[] packed) {
+		List<Point> pts = new ArrayList<>(packed.length / 3);
+		for (int i = 0; i + 2 < packed.length; i += 3) {
+			pts.add(new Point(packed[i], packed[i + 1], packed[i + 2]));
 		}
 		return pts;
 	}
@@ -59,15 +82,19 @@ public class SpaceUtil {
 		int n = points.size();
 		List<Pair> edges = new ArrayList<>(n * (n - 1) / 2);
 
-		for (int i = 0; i < n; i++) {
-			Point a = points.get(i);
-			for (int j = i + 1; j < n; j++) {
-				Point b = points.get(j);
-				long d = distanceSq(a, b);
-				edges.add(new Pair(i, j, d));
+		try (var _ = Phase.begin("day8", "build edges")) {
+			for (int i = 0; i < n; i++) {
+				Point a = points.get(i);
+				for (int j = i + 1; j < n; j++) {
+					Point b = points.get(j);
+					long d = distanceSq(a, b);
+					edges.add(new Pair(i, j, d));
+				}
 			}
 		}
-		edges.sort(PAIR_COMPARATOR);
+		try (var _ = Phase.begin("day8", "sort edges")) {
+			edges.sort(PAIR_COMPARATOR);
+		}
 		return edges;
 	}
 
@@ -78,8 +105,10 @@ public class SpaceUtil {
 		List<Pair> pairs = findClosestPairs(points, count);
 		int n = points.size();
 		DSU dsu = new DSU(n);
-		for (Pair p : pairs) {
-			dsu.union(p.a, p.b);
+		try (var _ = Phase.begin("day8", "union pairs")) {
+			for (Pair p : pairs) {
+				dsu.union(p.a, p.b);
+			}
 		}
 		Map<Integer, Integer> sizes = new HashMap<>();
 		for (int i = 0; i < n; i++) {
@@ -140,6 +169,12 @@ public class SpaceUtil {
 			return BigInteger.ZERO;
 		}
 		List<Pair> edges = buildAndSortAllEdges(points);
+		try (var _ = Phase.begin("day8", "connect components")) {
+			return connectUntilSingleComponent(points, edges);
+		}
+	}
+
+	private static BigInteger connectUntilSingleComponent(List<Point> points, List<Pair> edges) {
 		DSU dsu = new DSU(points.size());
 		int components = points.size();
 
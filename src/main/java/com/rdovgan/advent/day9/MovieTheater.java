@@ -1,6 +1,10 @@
 package com.rdovgan.advent.day9;
 
-import com.rdovgan.advent.util.ResourceData;
+import com.rdovgan.advent.util.MappedData;
+import com.rdovgan.advent.util.ParseUtil;
+import com.rdovgan.advent.util.ParsedCache;
+import com.rdovgan.advent.util.Phase;
+import com.rdovgan.advent.util.Solver;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -8,17 +12,24 @@ import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.function.Predicate;
 
-public final class MovieTheater {
+public final class MovieTheater implements Solver {
 
 	public static void main(String[] args) {
-		List<String> lines = new ResourceData().loadFromResource("data9.csv");
-		System.out.println("Part1: " + largestRectangleArea(lines));
-		System.out.println("Part2: " + largestRectangleAreaPart2(lines));
+		Solver.run(new MovieTheater(), args);
+	}
+
+	@Override
+	public int day() {
+		return 9;
+	}
+
+	@Override
+	public List<String> solve(MappedData data) {
+		int[] coordinates = ParsedCache.ints("day9-points", data, input -> parseCoordinates(input.lines()));
+		return List.of("Part1: " + largestRectangleArea(coordinates), "Part2: " + largestRectangleAreaPart2(coordinates));
 	}
 
 	private record Point(int x, int y) {
@@ -34,26 +45,19 @@ public final class MovieTheater {
 		}
 	}
 
-	public static long largestRectangleArea(List<String> lines) {
+	public static long largestRectangleArea(List<? extends CharSequence> lines) {
 		if (lines == null || lines.isEmpty()) {
 			return 0L;
 		}
+		return largestRectangleArea(parseCoordinates(lines));
+	}
 
-		// 2. Use mapMulti for efficient "parse or ignore" logic in a single pass
-		Point[] points = lines.stream().filter(Objects::nonNull).map(String::trim).filter(Predicate.not(String::isEmpty)).<Point>mapMulti((line, consumer) -> {
-					// Logic: Attempt to parse, push to consumer if valid, ignore if not
-					try {
-						var parts = line.split(",");
-						if (parts.length >= 2) {
-							int x = Integer.parseInt(parts[0].trim());
-							int y = Integer.parseInt(parts[1].trim());
-							consumer.accept(new Point(x, y));
-						}
-					} catch (NumberFormatException ignored) {
-						// In Java 21 (with --enable-preview), this variable could be '_'
-					}
-				}).distinct() // Deduplicate points automatically based on Record equality
-				.toArray(Point[]::new);
+	/**
+	 * Same as {@link #largestRectangleArea(List)} for points already packed by {@link #parseCoordinates(List)}.
+	 */
+	public static long largestRectangleArea(int[] coordinates) {
+		// Deduplicate points automatically based on Record equality
+		Point[] points = toPoints(coordinates).stream().distinct().toArray(Point[]::new);
 
 		// Optimization: Early exit if we don't have enough points for a pair
 		if (points.length < 2) {
@@ -90,13 +94,19 @@ public final class MovieTheater {
 		return width * height;
 	}
 
-	public static long largestRectangleAreaPart2(List<String> lines) {
+	public static long largestRectangleAreaPart2(List<? extends CharSequence> lines) {
 		if (lines == null || lines.isEmpty()) {
 			return 0L;
 		}
+		return largestRectangleAreaPart2(parseCoordinates(lines));
+	}
 
-		// 1. Parse Inputs
-		List<Point> orderedPoints = parsePoints(lines);
+	/**
+	 * Same as {@link #largestRectangleAreaPart2(List)} for points already packed by {@link #parseCoordinates(List)}.
+	 */
+	public static long largestRectangleAreaPart2(int[] coordinates) {
+		// 1. Unpack Inputs
+		List<Point> orderedPoints = toPoints(coordinates);
 		Set<Point> redPoints = new LinkedHashSet<>(orderedPoints); // Preserve insertion order
 
 		if (redPoints.size() < 2) {
@@ -111,21 +121,32 @@ public final class MovieTheater {
 
 		// 3. Initialize Coordinate Compression Grid
 		//    This maps the large integer coordinates into a compressed grid indices.
-		var grid = new RegionGrid(redPoints, loop);
+		RegionGrid grid;
+		try (var _ = Phase.begin("day9", "compress grid")) {
+			grid = new RegionGrid(redPoints, loop);
+		}
 
 		// 4. Mark boundaries (edges of the loop and specific points)
-		grid.markBoundaries(loop, redPoints);
+		try (var _ = Phase.begin("day9", "mark boundaries")) {
+			grid.markBoundaries(loop, redPoints);
+		}
 
 		// 5. Flood fill from outside to determine the "interior"
-		grid.fillExteriorAndInvert();
+		try (var _ = Phase.begin("day9", "flood fill")) {
+			grid.fillExteriorAndInvert();
+		}
 
 		// 6. Build 2D Prefix Sums to allow O(1) area queries
-		grid.buildPrefixSums();
+		try (var _ = Phase.begin("day9", "prefix sums")) {
+			grid.buildPrefixSums();
+		}
 
 		// 7. Find Max Area
 		//    Iterate all pairs of points. If the rectangle formed by them is
 		//    fully contained within the allowed region, calculate area.
-		return findMaxContainedArea(redPoints, grid);
+		try (var _ = Phase.begin("day9", "max area search")) {
+			return findMaxContainedArea(redPoints, grid);
+		}
 	}
 
 	private static long findMaxContainedArea(Set<Point> redPoints, RegionGrid grid) {
@@ -157,25 +178,36 @@ public final class MovieTheater {
 		return maxArea;
 	}
 
-	private static List<Point> parsePoints(List<String> lines) {
-		var points = new ArrayList<Point>();
-		for (String line : lines) {
+	/**
+	 * Parses points into flat {@code x, y} pairs in input order, the form kept in the parsed input cache.
+	 */
+	public static int[] parseCoordinates(List<? extends CharSequence> lines) {
+		try (var _ = Phase.begin("day9", "parse")) {
+			return packCoordinates(lines);
+		}
+	}
+
+	private static int[] packCoordinates(List<? extends CharSequence> lines) {
+		int[] packed = new int[lines.size() * 2];
+		int size = 0;
+		int[] coords = new int[2];
+		for (CharSequence line : lines) {
 			if (line == null)
 				continue;
-			String s = line.trim();
-			if (s.isEmpty())
-				continue;
-
-			String[] parts = s.split(",");
-			if (parts.length >= 2) {
-				try {
-					int x = Integer.parseInt(parts[0].trim());
-					int y = Integer.parseInt(parts[1].trim());
-					points.add(new Point(x, y));
-				} catch (NumberFormatException ignored) {
-				}
+			// parse or ignore: malformed lines are skipped
+			if (ParseUtil.parseInts(line, ',', coords) == 2) {
+				packed[size++] = coords[0];
+				packed[size++] = coords[1];
 			}
 		}
+		return Arrays.copyOf(packed, size);
+	}
+
+	private static List<Point> toPoints(int[] coordinates) {
+		var points = new ArrayList<Point>(coordinates.length / 2);
+		for (int i = 0; i + 1 < coordinates.length; i += 2) {
+			points.add(new Point(coordinates[i], coordinates[i + 1]));
+		}
 		return points;
 	}
 
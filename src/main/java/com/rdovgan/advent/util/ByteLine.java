@@ -0,0 +1,39 @@
+package com.rdovgan.advent.util;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Read-only view of a single line inside a mapped input. No bytes are copied: every {@link #charAt(int)} reads
+ * straight from the underlying segment. Inputs are expected to be ASCII, each byte is exposed as one char.
+ */
+public record ByteLine(MemorySegment segment, long offset, int length) implements CharSequence {
+
+	public byte byteAt(int index) {
+		Objects.checkIndex(index, length);
+		return segment.get(ValueLayout.JAVA_BYTE, offset + index);
+	}
+
+	@Override
+	public char charAt(int index) {
+		return (char) (byteAt(index) & 0xFF);
+	}
+
+	@Override
+	public ByteLine subSequence(int start, int end) {
+		Objects.checkFromToIndex(start, end, length);
+		return new ByteLine(segment, offset + start, end - start);
+	}
+
+	public byte[] toByteArray() {
+		return segment.asSlice(offset, length).toArray(ValueLayout.JAVA_BYTE);
+	}
+
+	@Override
+	public String toString() {
+		return new String(toByteArray(), StandardCharsets.ISO_8859_1);
+	}
+
+}
@@ -0,0 +1,318 @@
+package com.rdovgan.advent.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic inputs in each day's format. The same day, size and seed always produce the same bytes, and
+ * everything is streamed to the output, so inputs of 10^8 lines never have to fit in memory.
+ *
+ * Usage: {@code InputGenerator <day> <size> <output file> [seed] [width]}, the meaning of {@code size} per day is listed
+ * on {@link #generate(int, long, long, int, Appendable)}. The generated file can be passed as the first argument of
+ * any day's {@code main}.
+ */
+public final class InputGenerator {
+
+	public static final long DEFAULT_SEED = 2025L;
+	public static final int DEFAULT_WIDTH = 1000;
+
+	private static final String[][] SHAPES = {
+			{ "###", "#..", "###" },
+			{ "###", ".#.", "###" },
+			{ "##.", "##.", "###" },
+			{ "#..", "##.", "###" },
+			{ "###", "#.#", "#.#" },
+			{ ".##", "##.", "#.." } };
+
+	private InputGenerator() {
+	}
+
+	public static void main(String[] args) {
+		if (args.length < 3) {
+			System.out.println("Usage: InputGenerator <day> <size> <output file> [seed] [width]");
+			return;
+		}
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+		int width = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_WIDTH;
+		write(Integer.parseInt(args[0]), Long.parseLong(args[1]), seed, width, Path.of(args[2]));
+	}
+
+	public static void write(int day, long size, long seed, int width, Path output) {
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.US_ASCII), 1 << 20)) {
+			generate(day, size, seed, width, writer);
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to write generated input to: " + output, e);
+		}
+	}
+
+	/**
+	 * In-memory variant for small inputs, split into lines the same way a file would be read.
+	 */
+	public static List<String> lines(int day, long size, long seed, int width) {
+		var data = new StringBuilder();
+		try {
+			generate(day, size, seed, width, data);
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to generate input for day " + day, e);
+		}
+		return Arrays.asList(data.toString().split("\n"));
+	}
+
+	/**
+	 * Writes an input for {@code day}. {@code size} is the number of: rotations (1), ranges on the single line (2),
+	 * banks of 100 digits (3), grid rows, each {@code width} wide (4), ranges and also ids (5), problems of a 4-row
+	 * worksheet (6), manifold rows, each {@code width} wide (7), points (8), steps of the polygon (9), machines (10),
+	 * devices (11) and regions (12).
+	 */
+	public static void generate(int day, long size, long seed, int width, Appendable out) throws IOException {
+		switch (day) {
+			case 1 -> rotations(size, seed, out);
+			case 2 -> idRanges(size, 10_000, seed, out);
+			case 3 -> batteryBanks(size, 100, seed, out);
+			case 4 -> rollGrid(size, width, seed, out);
+			case 5 -> freshRanges(size, size, seed, out);
+			case 6 -> worksheet(size, 4, seed, out);
+			case 7 -> manifold(size, width, seed, out);
+			case 8 -> pointCloud(size, seed, out);
+			case 9 -> rectilinearPolygon(size, seed, out);
+			case 10 -> machines(size, 20, seed, out);
+			case 11 -> deviceGraph(size, seed, out);
+			case 12 -> shapesAndRegions(size, seed, out);
+			default -> throw new IllegalArgumentException("Unknown day: " + day);
+		}
+	}
+
+	public static void rotations(long count, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		for (long i = 0; i < count; i++) {
+			out.append(random.nextBoolean() ? 'L' : 'R').append(Integer.toString(1 + random.nextInt(999))).append('\n');
+		}
+	}
+
+	/**
+	 * One comma separated line of {@code count} ranges, each {@code width} ids wide.
+	 */
+	public static void idRanges(long count, int width, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		for (long i = 0; i < count; i++) {
+			long first = 10 + (long) (random.nextDouble() * 9_999_999_990L);
+			out.append(i == 0 ? "" : ",").append(Long.toString(first)).append('-').append(Long.toString(first + width));
+		}
+		out.append('\n');
+	}
+
+	public static void batteryBanks(long count, int length, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		for (long i = 0; i < count; i++) {
+			digits(random, length, out);
+			out.append('\n');
+		}
+	}
+
+	public static void rollGrid(long rows, int width, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		char[] row = new char[width];
+		for (long r = 0; r < rows; r++) {
+			for (int c = 0; c < width; c++) {
+				row[c] = random.nextInt(10) < 6 ? '@' : '.';
+			}
+			out.append(new String(row)).append('\n');
+		}
+	}
+
+	/**
+	 * Fresh ranges, a blank line, then the ids to check.
+	 */
+	public static void freshRanges(long ranges, long ids, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		for (long i = 0; i < ranges; i++) {
+			long start = (long) (random.nextDouble() * 500_000_000_000_000L);
+			out.append(Long.toString(start)).append('-').append(Long.toString(start + random.nextInt(1_000_000_000))).append('\n');
+		}
+		out.append('\n');
+		for (long i = 0; i < ids; i++) {
+			out.append(Long.toString((long) (random.nextDouble() * 500_000_000_000_000L))).append('\n');
+		}
+	}
+
+	/**
+	 * Worksheet of {@code problems} problems with {@code rows} numbers each, written row by row. Every row is generated
+	 * from the same seed so that the problem widths line up without keeping the sheet in memory.
+	 */
+	public static void worksheet(long problems, int rows, long seed, Appendable out) throws IOException {
+		for (int r = 0; r <= rows; r++) {
+			Random layout = new Random(seed);
+			Random values = new Random(seed * 31 + r);
+			for (long p = 0; p < problems; p++) {
+				int width = 1 + layout.nextInt(4);
+				boolean rightAligned = layout.nextBoolean();
+				char operator = layout.nextBoolean() ? '+' : '*';
+				out.append(p == 0 ? "" : " ");
+				if (r == rows) {
+					out.append(operator).append(" ".repeat(width - 1));
+					continue;
+				}
+				// the first row always uses the full width, so no blank column appears inside a problem
+				int length = r == 0 ? width : 1 + values.nextInt(width);
+				String pad = " ".repeat(width - length);
+				if (rightAligned) out.append(pad);
+				digits(values, length, out);
+				if (!rightAligned) out.append(pad);
+			}
+			out.append('\n');
+		}
+	}
+
+	/**
+	 * Manifold with the start in the middle of the first row and splitters on every other row; splitters are never
+	 * adjacent, as in the real puzzle input.
+	 */
+	public static void manifold(long rows, int width, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		char[] row = new char[width];
+		for (long r = 0; r < rows; r++) {
+			Arrays.fill(row, '.');
+			if (r == 0) {
+				row[width / 2] = 'S';
+			} else if (r % 2 == 0) {
+				for (int c = 1; c < width - 1; c++) {
+					if (row[c - 1] != '^' && random.nextInt(10) < 3) {
+						row[c] = '^';
+					}
+				}
+			}
+			out.append(new String(row)).append('\n');
+		}
+	}
+
+	public static void pointCloud(long count, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		for (long i = 0; i < count; i++) {
+			out.append(Integer.toString(random.nextInt(100_000))).append(',')
+					.append(Integer.toString(random.nextInt(100_000))).append(',')
+					.append(Integer.toString(random.nextInt(100_000))).append('\n');
+		}
+	}
+
+	/**
+	 * Rectilinear "skyline" polygon: a staircase of {@code steps} columns over a flat base, 2 * steps + 2 vertices.
+	 */
+	public static void rectilinearPolygon(long steps, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		int x = 1_000, height = 0;
+		point(x, 1_000, out);
+		for (long i = 0; i < steps; i++) {
+			int next;
+			do {
+				next = 2_000 + random.nextInt(90_000);
+			} while (next == height);
+			height = next;
+			point(x, height, out);
+			x += 1 + random.nextInt(10);
+			point(x, height, out);
+		}
+		point(x, 1_000, out);
+	}
+
+	/**
+	 * Machine lines; the joltage targets are produced by pressing each button up to {@code maxPresses} times, so they
+	 * are always reachable.
+	 */
+	public static void machines(long count, int maxPresses, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		for (long i = 0; i < count; i++) {
+			int lights = 3 + random.nextInt(5);
+			out.append('[');
+			for (int l = 0; l < lights; l++) {
+				out.append(random.nextBoolean() ? '#' : '.');
+			}
+			out.append(']');
+			int[] targets = new int[lights];
+			int buttons = 3 + random.nextInt(4);
+			for (int b = 0; b < buttons; b++) {
+				int from = random.nextInt(lights);
+				int to = from + random.nextInt(lights - from);
+				int presses = random.nextInt(maxPresses + 1);
+				out.append(" (");
+				for (int l = from; l <= to; l++) {
+					out.append(l == from ? "" : ",").append(Integer.toString(l));
+					targets[l] += presses;
+				}
+				out.append(')');
+			}
+			out.append(" {");
+			for (int l = 0; l < lights; l++) {
+				out.append(l == 0 ? "" : ",").append(Integer.toString(targets[l]));
+			}
+			out.append("}\n");
+		}
+	}
+
+	/**
+	 * Device DAG from {@code you} to {@code out}; every device only links to the next few devices, so there are no
+	 * cycles.
+	 */
+	public static void deviceGraph(long devices, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		for (long i = 0; i <= devices; i++) {
+			out.append(i == 0 ? "you" : deviceName(i)).append(':');
+			int outputs = 1 + random.nextInt(3);
+			for (int k = 0; k < outputs; k++) {
+				long target = i + 1 + random.nextInt((int) Math.max(1, Math.min(10, devices - i)));
+				out.append(' ').append(target > devices ? "out" : deviceName(target));
+			}
+			out.append('\n');
+		}
+	}
+
+	/**
+	 * Six 3x3 presents and regions holding more than a dozen of them.
+	 */
+	public static void shapesAndRegions(long regions, long seed, Appendable out) throws IOException {
+		Random random = new Random(seed);
+		for (int s = 0; s < SHAPES.length; s++) {
+			out.append(Integer.toString(s)).append(":\n");
+			for (String row : SHAPES[s]) {
+				out.append(row).append('\n');
+			}
+			out.append('\n');
+		}
+		for (long i = 0; i < regions; i++) {
+			int width = 20 + random.nextInt(30), height = 20 + random.nextInt(30);
+			out.append(Integer.toString(width)).append('x').append(Integer.toString(height)).append(':');
+			for (int s = 0; s < SHAPES.length; s++) {
+				out.append(' ').append(Integer.toString(3 + random.nextInt(2)));
+			}
+			out.append('\n');
+		}
+	}
+
+	private static void point(int x, int y, Appendable out) throws IOException {
+		out.append(Integer.toString(x)).append(',').append(Integer.toString(y)).append('\n');
+	}
+
+	private static String deviceName(long index) {
+		StringBuilder name = new StringBuilder();
+		do {
+			name.append((char) ('a' + index % 26));
+			index /= 26;
+		} while (index > 0);
+		// the suffix keeps generated names apart from "you" and "out"
+		return name.append('x').toString();
+	}
+
+	private static void digits(Random random, int length, Appendable out) throws IOException {
+		for (int i = 0; i < length; i++) {
+			out.append((char) ('1' + random.nextInt(9)));
+		}
+	}
+
+}
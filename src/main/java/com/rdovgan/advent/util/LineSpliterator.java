@@ -0,0 +1,77 @@
+package com.rdovgan.advent.util;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Splits a mapped input into lines lazily. The spliterator owns the byte range {@code [position, end)} and reports every
+ * non-blank line that starts inside it; {@link #trySplit()} cuts the range in half and moves the cut forward to the
+ * next line start, so a line never belongs to two chunks and nothing has to be indexed up front.
+ */
+final class LineSpliterator implements Spliterator<ByteLine> {
+
+	// do not split below this many bytes, smaller chunks cost more in task overhead than they save
+	static final long MIN_CHUNK_BYTES = 1 << 16;
+
+	private final MemorySegment segment;
+	private long position;
+	private final long end;
+
+	LineSpliterator(MemorySegment segment, long position, long end) {
+		this.segment = segment;
+		this.position = position;
+		this.end = end;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super ByteLine> action) {
+		while (position < end) {
+			long lineEnd = nextLineEnd(position);
+			long from = position, to = lineEnd;
+			position = lineEnd + 1;
+			while (from < to && MappedData.isWhitespace(segment.get(ValueLayout.JAVA_BYTE, from))) from++;
+			while (to > from && MappedData.isWhitespace(segment.get(ValueLayout.JAVA_BYTE, to - 1))) to--;
+			if (to > from) {
+				action.accept(new ByteLine(segment, from, Math.toIntExact(to - from)));
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Spliterator<ByteLine> trySplit() {
+		if (end - position < 2 * MIN_CHUNK_BYTES) {
+			return null;
+		}
+		long mid = nextLineEnd(position + (end - position) / 2) + 1;
+		if (mid >= end) {
+			return null;
+		}
+		var prefix = new LineSpliterator(segment, position, mid);
+		position = mid;
+		return prefix;
+	}
+
+	private long nextLineEnd(long from) {
+		long limit = segment.byteSize();
+		long i = from;
+		while (i < limit && segment.get(ValueLayout.JAVA_BYTE, i) != '\n') {
+			i++;
+		}
+		return i;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - position;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+}
@@ -0,0 +1,177 @@
+package com.rdovgan.advent.util;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Memory-mapped alternative to {@link ResourceData#loadFromResource(String)}.
+ *
+ * The file is mapped once and only an offset/length index is kept on the heap; the index is built on the first indexed
+ * access, {@link #stream()} does not need it at all. Lines follow the same rules as {@link ResourceData}: surrounding
+ * whitespace is trimmed and blank lines are skipped. The mapping lives until {@link #close()} is called, views handed
+ * out before that must not be used afterwards.
+ */
+public final class MappedData implements AutoCloseable {
+
+	private final Arena arena;
+	private final MemorySegment segment;
+	private long[] offsets;
+	private int[] lengths;
+	private volatile int size = -1;
+
+	private MappedData(Arena arena, MemorySegment segment) {
+		this.arena = arena;
+		this.segment = segment;
+	}
+
+	public static MappedData map(Path path) {
+		Arena arena = Arena.ofShared();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new MappedData(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+		} catch (IOException e) {
+			arena.close();
+			throw new RuntimeException("Failed to map data from: " + path, e);
+		}
+	}
+
+	public static MappedData mapResource(String resourcePath) {
+		return map(resolveResource(resourcePath));
+	}
+
+	/**
+	 * Maps the file passed as the first program argument, or the bundled resource when there is none.
+	 */
+	public static MappedData mapInput(String[] args, String defaultResource) {
+		return args.length > 0 ? map(Path.of(args[0])) : mapResource(defaultResource);
+	}
+
+	static Path resolveResource(String resourcePath) {
+		URL url = MappedData.class.getClassLoader().getResource(resourcePath);
+		if (url == null) {
+			throw new RuntimeException("Resource not found: " + resourcePath);
+		}
+		if (!"file".equals(url.getProtocol())) {
+			throw new RuntimeException("Resource is not a plain file and cannot be mapped: " + url);
+		}
+		try {
+			return Path.of(url.toURI());
+		} catch (URISyntaxException e) {
+			throw new RuntimeException("Invalid resource location: " + url, e);
+		}
+	}
+
+	static boolean isWhitespace(byte b) {
+		// same rule as String.trim()
+		return (b & 0xFF) <= ' ';
+	}
+
+	public MemorySegment segment() {
+		return segment;
+	}
+
+	public int size() {
+		ensureIndexed();
+		return size;
+	}
+
+	public ByteLine line(int index) {
+		ensureIndexed();
+		return new ByteLine(segment, offsets[index], lengths[index]);
+	}
+
+	/**
+	 * Lazy line stream that starts producing lines right away. It is splittable by byte ranges on line boundaries, so
+	 * {@code stream().parallel()} works on independent chunks of the file.
+	 */
+	public Stream<ByteLine> stream() {
+		return StreamSupport.stream(new LineSpliterator(segment, 0, segment.byteSize()), false);
+	}
+
+	private void ensureIndexed() {
+		if (size < 0) {
+			buildIndex();
+		}
+	}
+
+	private synchronized void buildIndex() {
+		if (size >= 0) {
+			return;
+		}
+		long[] lineOffsets = new long[1024];
+		int[] lineLengths = new int[1024];
+		int count = 0;
+		var lines = new LineSpliterator(segment, 0, segment.byteSize());
+		ByteLine[] holder = new ByteLine[1];
+		while (lines.tryAdvance(line -> holder[0] = line)) {
+			if (count == lineOffsets.length) {
+				lineOffsets = Arrays.copyOf(lineOffsets, count * 2);
+				lineLengths = Arrays.copyOf(lineLengths, count * 2);
+			}
+			lineOffsets[count] = holder[0].offset();
+			lineLengths[count] = holder[0].length();
+			count++;
+		}
+		offsets = lineOffsets;
+		lengths = lineLengths;
+		size = count;
+	}
+
+	/**
+	 * Lines as views over the mapped bytes, nothing is decoded.
+	 */
+	public List<ByteLine> lines() {
+		return new LineList<>() {
+			@Override
+			public ByteLine get(int index) {
+				return line(checkIndex(index));
+			}
+		};
+	}
+
+	/**
+	 * Adapter for solvers that still take {@code List<String>}. Each line is decoded only when it is requested, so
+	 * nothing beyond the index is held on the heap.
+	 */
+	public List<String> asStrings() {
+		return new LineList<>() {
+			@Override
+			public String get(int index) {
+				return line(checkIndex(index)).toString();
+			}
+		};
+	}
+
+	@Override
+	public void close() {
+		arena.close();
+	}
+
+	private abstract class LineList<T> extends AbstractList<T> implements RandomAccess {
+
+		@Override
+		public int size() {
+			return MappedData.this.size();
+		}
+
+		int checkIndex(int index) {
+			int size = size();
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+			}
+			return index;
+		}
+	}
+
+}
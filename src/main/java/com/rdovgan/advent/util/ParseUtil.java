@@ -0,0 +1,126 @@
+package com.rdovgan.advent.util;
+
+/**
+ * Number parsing that works on any {@link CharSequence} (including {@link ByteLine} views over mapped bytes) without
+ * creating substrings, split arrays or exceptions. Whitespace around a number is ignored, anything else that is not
+ * a digit makes the field invalid.
+ */
+public final class ParseUtil {
+
+	private ParseUtil() {
+	}
+
+	public static int indexOf(CharSequence s, char ch, int from) {
+		for (int i = Math.max(from, 0); i < s.length(); i++) {
+			if (s.charAt(i) == ch) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int parseInt(CharSequence s, int fallback) {
+		return parseInt(s, 0, s.length(), fallback);
+	}
+
+	/**
+	 * Parses {@code s[from, to)} as a decimal int, returns {@code fallback} when it is empty, malformed or out of range.
+	 */
+	public static int parseInt(CharSequence s, int from, int to, int fallback) {
+		long value = parseLong(s, from, to, Long.MIN_VALUE);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			return fallback;
+		}
+		return (int) value;
+	}
+
+	public static long parseLong(CharSequence s, long fallback) {
+		return parseLong(s, 0, s.length(), fallback);
+	}
+
+	/**
+	 * Parses {@code s[from, to)} as a decimal long, returns {@code fallback} when it is empty, malformed or overflows.
+	 */
+	public static long parseLong(CharSequence s, int from, int to, long fallback) {
+		while (from < to && isSpace(s.charAt(from))) from++;
+		while (to > from && isSpace(s.charAt(to - 1))) to--;
+		if (from == to) {
+			return fallback;
+		}
+		boolean negative = false;
+		char first = s.charAt(from);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			if (++from == to) {
+				return fallback;
+			}
+		}
+		// accumulate negatively so that Long.MIN_VALUE is still representable
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long value = 0;
+		for (int i = from; i < to; i++) {
+			int digit = s.charAt(i) - '0';
+			if (digit < 0 || digit > 9 || value < limit / 10) {
+				return fallback;
+			}
+			value *= 10;
+			if (value < limit + digit) {
+				return fallback;
+			}
+			value -= digit;
+		}
+		return negative ? value : -value;
+	}
+
+	/**
+	 * Parses up to {@code target.length} int fields separated by {@code delimiter} into {@code target}.
+	 *
+	 * @return number of fields parsed; parsing stops at the first malformed field, fields beyond the target are ignored
+	 */
+	public static int parseInts(CharSequence s, char delimiter, int[] target) {
+		int count = 0, from = 0, length = s.length();
+		while (count < target.length && from <= length) {
+			int to = indexOf(s, delimiter, from);
+			if (to < 0) {
+				to = length;
+			}
+			long value = parseLong(s, from, to, Long.MIN_VALUE);
+			if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+				break;
+			}
+			target[count++] = (int) value;
+			from = to + 1;
+		}
+		return count;
+	}
+
+	/**
+	 * Same as {@link #parseInts(CharSequence, char, int[])} for long fields.
+	 */
+	public static int parseLongs(CharSequence s, char delimiter, long[] target) {
+		int count = 0, from = 0, length = s.length();
+		while (count < target.length && from <= length) {
+			int to = indexOf(s, delimiter, from);
+			if (to < 0) {
+				to = length;
+			}
+			long value = parseLong(s, from, to, Long.MIN_VALUE);
+			if (value == Long.MIN_VALUE && !isLong(s, from, to)) {
+				break;
+			}
+			target[count++] = value;
+			from = to + 1;
+		}
+		return count;
+	}
+
+	public static boolean isLong(CharSequence s, int from, int to) {
+		// a valid field gives the same value whatever the fallback is
+		return parseLong(s, from, to, 0L) == parseLong(s, from, to, 1L);
+	}
+
+	private static boolean isSpace(char ch) {
+		return ch <= ' ';
+	}
+
+}
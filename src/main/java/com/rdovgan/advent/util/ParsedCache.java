@@ -0,0 +1,131 @@
+package com.rdovgan.advent.util;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * On-disk cache of parsed inputs. The parsed form is a flat {@code int[]} stored as a small header followed by
+ * little-endian ints, in a file named after the parser and the SHA-256 of the input bytes. A later run with the same
+ * input maps that file back instead of parsing the text again.
+ *
+ * The cache directory is {@code advent.cache.dir} (defaults to {@code advent-cache} under {@code java.io.tmpdir}).
+ */
+public final class ParsedCache {
+
+	private static final int MAGIC = 0x41444331; // "ADC1"
+	private static final long HEADER_BYTES = 16;
+	private static final long HASH_CHUNK_BYTES = 1L << 30;
+	private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+	private ParsedCache() {
+	}
+
+	public static Path cacheDirectory() {
+		return Path.of(System.getProperty("advent.cache.dir", Path.of(System.getProperty("java.io.tmpdir"), "advent-cache").toString()));
+	}
+
+	/**
+	 * Returns the cached parsed form of {@code input} or runs {@code parser} and stores its result. A cache that cannot
+	 * be written is only a miss, the parsed result is returned all the same.
+	 *
+	 * @param name parser name, bump it whenever the layout produced by the parser changes
+	 */
+	public static int[] ints(String name, MappedData input, Function<MappedData, int[]> parser) {
+		Path file = cacheDirectory().resolve(name + "-" + hash(input.segment()) + ".bin");
+		int[] cached = read(file);
+		if (cached != null) {
+			return cached;
+		}
+		int[] parsed = parser.apply(input);
+		write(file, parsed);
+		return parsed;
+	}
+
+	static String hash(MemorySegment data) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 is not available", e);
+		}
+		// a single ByteBuffer view is limited to 2 GB, so digest the segment in slices
+		for (long offset = 0; offset < data.byteSize(); offset += HASH_CHUNK_BYTES) {
+			digest.update(data.asSlice(offset, Math.min(HASH_CHUNK_BYTES, data.byteSize() - offset)).asByteBuffer());
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static int[] read(Path file) {
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		try (Arena arena = Arena.ofConfined(); FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_BYTES) {
+				return null;
+			}
+			MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+			long count = segment.get(LONG, 8);
+			if (segment.get(INT, 0) != MAGIC || count < 0 || HEADER_BYTES + count * Integer.BYTES != size) {
+				// stale or truncated entry, it gets rewritten after parsing
+				return null;
+			}
+			int[] values = new int[Math.toIntExact(count)];
+			MemorySegment.copy(segment, INT, HEADER_BYTES, values, 0, values.length);
+			return values;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static void write(Path file, int[] values) {
+		Path temp = null;
+		try {
+			Files.createDirectories(file.getParent());
+			temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try (Arena arena = Arena.ofConfined();
+				 FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) values.length * Integer.BYTES, arena);
+				segment.set(INT, 0, MAGIC);
+				segment.set(LONG, 8, values.length);
+				MemorySegment.copy(values, 0, segment, INT, HEADER_BYTES, values.length);
+				segment.force();
+			}
+			// publish atomically so that a concurrent run never maps a half written entry
+			try {
+				Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			// read-only or missing cache directory: the entry is simply not stored
+			deleteQuietly(temp);
+		}
+	}
+
+	private static void deleteQuietly(Path temp) {
+		if (temp == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(temp);
+		} catch (IOException e) {
+			// nothing else to clean up
+		}
+	}
+
+}
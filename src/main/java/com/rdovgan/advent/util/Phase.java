@@ -0,0 +1,71 @@
+package com.rdovgan.advent.util;
+
+import jdk.jfr.EventType;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Times a solver phase as a JFR {@code com.rdovgan.advent.Phase} event, together with the bytes the current thread
+ * allocated during it:
+ *
+ * <pre>
+ * try (var _ = Phase.begin("day9", "flood fill")) {
+ *     grid.fillExteriorAndInvert();
+ * }
+ * </pre>
+ *
+ * When no recording has the event enabled, {@link #begin(String, String)} returns a shared no-op instance, so
+ * instrumented code costs a single flag check. Record with {@code -XX:StartFlightRecording=filename=run.jfr} and read
+ * with {@code jfr print --events com.rdovgan.advent.Phase run.jfr}. Allocations are counted for the calling thread only,
+ * so phases that fan out to other threads should be opened inside the task.
+ */
+public final class Phase implements AutoCloseable {
+
+	private static final EventType TYPE = EventType.getEventType(PhaseEvent.class);
+	private static final Phase DISABLED = new Phase(null, 0);
+	private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+	private final PhaseEvent event;
+	private final long allocatedAtStart;
+
+	private Phase(PhaseEvent event, long allocatedAtStart) {
+		this.event = event;
+		this.allocatedAtStart = allocatedAtStart;
+	}
+
+	public static Phase begin(String day, String phase) {
+		if (!TYPE.isEnabled()) {
+			return DISABLED;
+		}
+		var event = new PhaseEvent();
+		event.day = day;
+		event.phase = phase;
+		event.begin();
+		return new Phase(event, allocatedBytes());
+	}
+
+	@Override
+	public void close() {
+		if (event == null) {
+			return;
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.allocatedBytes = allocatedBytes() - allocatedAtStart;
+			event.commit();
+		}
+	}
+
+	private static long allocatedBytes() {
+		return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean() {
+		// allocation counters are a HotSpot extension, other VMs only get the timings
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+			return bean;
+		}
+		return null;
+	}
+
+}
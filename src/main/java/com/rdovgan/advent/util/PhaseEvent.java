@@ -0,0 +1,32 @@
+package com.rdovgan.advent.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one solver phase, emitted through {@link Phase}.
+ */
+@Name("com.rdovgan.advent.Phase")
+@Label("Solver Phase")
+@Category("Advent")
+@Description("Duration and allocations of a single solver phase")
+@StackTrace(false)
+final class PhaseEvent extends Event {
+
+	@Label("Day")
+	String day;
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Allocated")
+	@Description("Bytes allocated by the recording thread during the phase")
+	@DataAmount
+	long allocatedBytes;
+
+}
@@ -0,0 +1,37 @@
+package com.rdovgan.advent.util;
+
+import java.util.List;
+
+/**
+ * One day of the puzzle. Implementations are listed in {@code META-INF/services/com.rdovgan.advent.util.Solver}, so
+ * {@link SolverRunner} finds every day without a hand-written registry, and each day's {@code main} just delegates to
+ * {@link #run(Solver, String[])}.
+ */
+public interface Solver {
+
+	int day();
+
+	/**
+	 * Solves the day and returns the answer lines in the order the day's {@code main} prints them.
+	 */
+	List<String> solve(MappedData input);
+
+	default String resource() {
+		return "data" + day() + ".csv";
+	}
+
+	/**
+	 * CPU-bound days run on a pool sized to the processors; the others get a virtual thread each. Days that fan out to
+	 * the common fork/join pool on their own should return {@code false}.
+	 */
+	default boolean cpuBound() {
+		return true;
+	}
+
+	static void run(Solver solver, String[] args) {
+		try (MappedData input = MappedData.mapInput(args, solver.resource())) {
+			solver.solve(input).forEach(System.out::println);
+		}
+	}
+
+}
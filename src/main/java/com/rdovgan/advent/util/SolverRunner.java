@@ -0,0 +1,105 @@
+package com.rdovgan.advent.util;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@link Solver} concurrently in one JVM and reports the wall time of each day and of the whole suite.
+ *
+ * Usage: {@code SolverRunner [--warm <rounds>] [--dir <input directory>]}. With {@code --warm} the suite is first run
+ * the given number of times without reporting, so the reported round shows JIT compiled timings. With {@code --dir}
+ * each day reads {@code dataN.csv} from that directory instead of the bundled resources.
+ */
+public final class SolverRunner {
+
+	private SolverRunner() {
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int warmRounds = 0;
+		Path directory = null;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--warm" -> warmRounds = Integer.parseInt(args[++i]);
+				case "--dir" -> directory = Path.of(args[++i]);
+				default -> {
+					System.out.println("Usage: SolverRunner [--warm <rounds>] [--dir <input directory>]");
+					return;
+				}
+			}
+		}
+		List<Solver> solvers = discover();
+		for (int round = 0; round < warmRounds; round++) {
+			runAll(solvers, directory);
+		}
+		long start = System.nanoTime();
+		List<Result> results = runAll(solvers, directory);
+		long total = System.nanoTime() - start;
+
+		long sum = 0;
+		for (Result result : results) {
+			sum += result.nanos();
+			String answer = result.error() == null ? String.join(", ", result.answer()) : "failed: " + result.error();
+			System.out.printf("Day %2d %10.1f ms  %s%n", result.day(), millis(result.nanos()), answer);
+		}
+		System.out.printf("Total  %10.1f ms  (sum of days %.1f ms%s)%n", millis(total), millis(sum),
+				warmRounds > 0 ? ", after " + warmRounds + " warm-up rounds" : "");
+	}
+
+	public static List<Solver> discover() {
+		return ServiceLoader.load(Solver.class).stream()
+				.map(ServiceLoader.Provider::get)
+				.sorted(Comparator.comparingInt(Solver::day))
+				.toList();
+	}
+
+	/**
+	 * Runs all solvers at once and returns their results in day order; a failing day is reported, not rethrown.
+	 */
+	public static List<Result> runAll(List<Solver> solvers, Path directory) throws InterruptedException {
+		List<Future<Result>> futures = new ArrayList<>();
+		try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor();
+			 ExecutorService bounded = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+			for (Solver solver : solvers) {
+				futures.add((solver.cpuBound() ? bounded : virtual).submit(() -> run(solver, directory)));
+			}
+			List<Result> results = new ArrayList<>();
+			for (Future<Result> future : futures) {
+				try {
+					results.add(future.get());
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("Solver task failed", e.getCause());
+				}
+			}
+			return results;
+		}
+	}
+
+	private static Result run(Solver solver, Path directory) {
+		long start = System.nanoTime();
+		try (MappedData input = directory == null
+				? MappedData.mapResource(solver.resource())
+				: MappedData.map(directory.resolve(solver.resource()))) {
+			List<String> answer = solver.solve(input);
+			return new Result(solver.day(), answer, System.nanoTime() - start, null);
+		} catch (RuntimeException e) {
+			return new Result(solver.day(), List.of(), System.nanoTime() - start, e);
+		}
+	}
+
+	private static double millis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public record Result(int day, List<String> answer, long nanos, Throwable error) {
+	}
+
+}